@@ -2,7 +2,10 @@ package com.learning.authservice.config;
 
 import com.learning.authservice.security.CustomUserDetailsService;
 import com.learning.authservice.security.JwtAuthenticationFilter;
+import com.learning.authservice.security.OffloadedPasswordEncoder;
+import com.learning.authservice.security.PasswordHashingExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,12 +30,21 @@ public class SecurityConfig {
     @Autowired
     JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    PasswordHashingExecutor passwordHashing;
+
+    @Value("${app.bcrypt.strength:10}")
+    int bcryptStrength;
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
 
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        // Only the hashing runs on the hashing pool; user lookup and rehash save stay on the caller
+        authProvider.setPasswordEncoder(new OffloadedPasswordEncoder(passwordEncoder(), passwordHashing));
+        // Hashes stored with a lower cost than app.bcrypt.strength are re-encoded on the next successful login
+        authProvider.setUserDetailsPasswordService(userDetailsService);
 
         return authProvider;
     }
@@ -44,7 +56,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -53,6 +65,7 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
                         .anyRequest().authenticated());
 
         http.authenticationProvider(authenticationProvider());
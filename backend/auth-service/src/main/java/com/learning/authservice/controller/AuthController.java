@@ -3,23 +3,42 @@ package com.learning.authservice.controller;
 import com.learning.authservice.model.User;
 import com.learning.authservice.payload.request.LoginRequest;
 import com.learning.authservice.payload.request.SignupRequest;
+import com.learning.authservice.payload.request.TokenRefreshRequest;
+import com.learning.authservice.payload.response.AvailabilityResponse;
 import com.learning.authservice.payload.response.JwtResponse;
+import com.learning.authservice.payload.response.TokenRefreshResponse;
 import com.learning.authservice.repository.UserRepository;
+import com.learning.authservice.security.CredentialVersionRegistry;
+import com.learning.authservice.security.JwtAuthenticationCache;
 import com.learning.authservice.security.JwtUtils;
+import com.learning.authservice.security.PasswordHashingExecutor;
 import com.learning.authservice.security.UserDetailsImpl;
+import com.learning.authservice.service.RefreshTokenService;
+import com.learning.authservice.service.RefreshTokenService.IssuedRefreshToken;
+import com.learning.authservice.service.UserAvailabilityIndex;
+import com.learning.authservice.service.UserAvailabilityIndex.Availability;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -38,22 +57,46 @@ public class AuthController {
         @Autowired
         JwtUtils jwtUtils;
 
+        @Autowired
+        JwtAuthenticationCache authenticationCache;
+
+        @Autowired
+        CredentialVersionRegistry credentialVersions;
+
+        @Autowired
+        PasswordHashingExecutor passwordHashing;
+
+        @Autowired
+        UserAvailabilityIndex availabilityIndex;
+
+        @Autowired
+        RefreshTokenService refreshTokenService;
+
         @PostMapping("/signin")
         public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
 
-                Authentication authentication = authenticationManager.authenticate(
-                                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(),
-                                                loginRequest.getPassword()));
+                Authentication authentication;
+                try {
+                        // The provider's encoder runs BCrypt on the hashing pool
+                        authentication = authenticationManager.authenticate(
+                                        new UsernamePasswordAuthenticationToken(loginRequest.getUsername(),
+                                                        loginRequest.getPassword()));
+                } catch (RejectedExecutionException e) {
+                        return hashingUnavailable();
+                }
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                String jwt = jwtUtils.generateJwtToken(authentication);
 
                 UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+                IssuedRefreshToken refreshToken = refreshTokenService.issue(userDetails.getId());
+                String jwt = jwtUtils.generateJwtToken(userDetails, refreshToken.familyId());
+
                 List<String> roles = userDetails.getAuthorities().stream()
                                 .map(GrantedAuthority::getAuthority)
                                 .collect(Collectors.toList());
 
                 return ResponseEntity.ok(new JwtResponse(jwt,
+                                refreshToken.token(),
                                 userDetails.getId(),
                                 userDetails.getUsername(),
                                 userDetails.getEmail(),
@@ -62,25 +105,127 @@ public class AuthController {
 
         @PostMapping("/signup")
         public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
-                if (userRepository.existsByUsername(signUpRequest.getUsername())) {
+                Availability availability = availabilityIndex.check(signUpRequest.getUsername(),
+                                signUpRequest.getEmail());
+
+                if (!availability.usernameAvailable()) {
                         return ResponseEntity
                                         .badRequest()
                                         .body("Error: Username is already taken!");
                 }
 
-                if (userRepository.existsByEmail(signUpRequest.getEmail())) {
+                if (!availability.emailAvailable()) {
                         return ResponseEntity
                                         .badRequest()
                                         .body("Error: Email is already in use!");
                 }
 
+                String encodedPassword;
+                try {
+                        encodedPassword = passwordHashing.execute(() -> encoder.encode(signUpRequest.getPassword()));
+                } catch (RejectedExecutionException e) {
+                        return hashingUnavailable();
+                }
+
                 User user = new User(signUpRequest.getUsername(),
-                                encoder.encode(signUpRequest.getPassword()),
+                                encodedPassword,
                                 signUpRequest.getEmail(),
                                 signUpRequest.getRole() == null ? "ROLE_USER" : signUpRequest.getRole());
 
-                userRepository.save(user);
+                try {
+                        userRepository.save(user);
+                } catch (DataIntegrityViolationException e) {
+                        // Taken on another instance since our index was loaded
+                        availabilityIndex.add(user.getUsername(), user.getEmail());
+                        return ResponseEntity
+                                        .badRequest()
+                                        .body("Error: Username or email is already in use!");
+                }
+                availabilityIndex.add(user.getUsername(), user.getEmail());
 
                 return ResponseEntity.ok("User registered successfully!");
         }
+
+        /**
+         * Answers from this instance's availability index. A name registered on another instance
+         * may be reported as available until the index's next sync, by default up to 10 seconds.
+         */
+        @GetMapping("/availability")
+        public ResponseEntity<?> checkAvailability(@RequestParam(required = false) String username,
+                        @RequestParam(required = false) String email) {
+                if (!StringUtils.hasText(username) && !StringUtils.hasText(email)) {
+                        return ResponseEntity
+                                        .badRequest()
+                                        .body("Error: Username or email is required!");
+                }
+
+                Availability availability = availabilityIndex.check(
+                                StringUtils.hasText(username) ? username : null,
+                                StringUtils.hasText(email) ? email : null);
+
+                return ResponseEntity.ok(new AvailabilityResponse(
+                                username,
+                                StringUtils.hasText(username) ? availability.usernameAvailable() : null,
+                                email,
+                                StringUtils.hasText(email) ? availability.emailAvailable() : null));
+        }
+
+        @PostMapping("/refresh")
+        public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+                Optional<IssuedRefreshToken> rotated = refreshTokenService.rotate(request.getRefreshToken());
+                Optional<User> user = rotated.flatMap(token -> userRepository.findById(token.userId()));
+
+                if (user.isEmpty()) {
+                        return ResponseEntity
+                                        .status(HttpStatus.UNAUTHORIZED)
+                                        .body("Error: Refresh token is invalid or expired!");
+                }
+
+                String jwt = jwtUtils.generateJwtToken(UserDetailsImpl.build(user.get()), rotated.get().familyId());
+
+                return ResponseEntity.ok(new TokenRefreshResponse(jwt, rotated.get().token()));
+        }
+
+        @PostMapping("/signout")
+        public ResponseEntity<?> logoutUser(
+                        @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String headerAuth) {
+                if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
+                        String jwt = headerAuth.substring(7);
+                        try {
+                                Claims claims = jwtUtils.getClaimsFromJwtToken(jwt);
+                                authenticationCache.revoke(jwt, claims.getExpiration());
+
+                                String familyId = claims.get(JwtUtils.CLAIM_FAMILY, String.class);
+                                if (familyId != null) {
+                                        refreshTokenService.revokeFamily(familyId);
+                                }
+                        } catch (JwtException | IllegalArgumentException e) {
+                                // Nothing to revoke for a token that no longer verifies
+                        }
+                }
+
+                return ResponseEntity.ok("User signed out successfully!");
+        }
+
+        @PostMapping("/signout-all")
+        public ResponseEntity<?> logoutEverywhere(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+                if (userDetails == null) {
+                        return ResponseEntity
+                                        .status(HttpStatus.UNAUTHORIZED)
+                                        .body("Error: Not signed in!");
+                }
+
+                credentialVersions.bump(userDetails.getId());
+                refreshTokenService.revokeAllFamilies(userDetails.getId());
+                authenticationCache.evictUser(userDetails.getUsername());
+
+                return ResponseEntity.ok("All sessions signed out successfully!");
+        }
+
+        private ResponseEntity<?> hashingUnavailable() {
+                return ResponseEntity
+                                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body("Error: Server is busy, please try again shortly!");
+        }
 }
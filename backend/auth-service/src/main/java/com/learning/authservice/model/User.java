@@ -29,6 +29,9 @@ public class User {
 
     private String role;
 
+    @Column(name = "credential_version", nullable = false, columnDefinition = "integer default 0")
+    private Integer credentialVersion = 0;
+
     public User(String username, String password, String email, String role) {
         this.username = username;
         this.password = password;
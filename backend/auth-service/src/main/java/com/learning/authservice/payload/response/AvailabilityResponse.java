@@ -0,0 +1,18 @@
+package com.learning.authservice.payload.response;
+
+import lombok.Data;
+
+@Data
+public class AvailabilityResponse {
+    private String username;
+    private Boolean usernameAvailable;
+    private String email;
+    private Boolean emailAvailable;
+
+    public AvailabilityResponse(String username, Boolean usernameAvailable, String email, Boolean emailAvailable) {
+        this.username = username;
+        this.usernameAvailable = usernameAvailable;
+        this.email = email;
+        this.emailAvailable = emailAvailable;
+    }
+}
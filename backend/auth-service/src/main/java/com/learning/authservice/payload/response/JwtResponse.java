@@ -8,6 +8,7 @@ import java.util.List;
 public class JwtResponse {
     private String token;
     private String type = "Bearer";
+    private String refreshToken;
     private Long id;
     private String username;
     private String email;
@@ -20,4 +21,10 @@ public class JwtResponse {
         this.email = email;
         this.roles = roles;
     }
+
+    public JwtResponse(String accessToken, String refreshToken, Long id, String username, String email,
+            List<String> roles) {
+        this(accessToken, id, username, email, roles);
+        this.refreshToken = refreshToken;
+    }
 }
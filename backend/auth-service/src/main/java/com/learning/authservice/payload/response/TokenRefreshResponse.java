@@ -0,0 +1,15 @@
+package com.learning.authservice.payload.response;
+
+import lombok.Data;
+
+@Data
+public class TokenRefreshResponse {
+    private String token;
+    private String type = "Bearer";
+    private String refreshToken;
+
+    public TokenRefreshResponse(String accessToken, String refreshToken) {
+        this.token = accessToken;
+        this.refreshToken = refreshToken;
+    }
+}
@@ -0,0 +1,12 @@
+package com.learning.authservice.repository;
+
+/**
+ * Projection of the two unique user columns, used for availability checks.
+ */
+public interface UserIdentity {
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+}
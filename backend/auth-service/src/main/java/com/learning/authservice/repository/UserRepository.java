@@ -1,10 +1,18 @@
 package com.learning.authservice.repository;
 
 import com.learning.authservice.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -13,4 +21,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByUsername(String username);
 
     Boolean existsByEmail(String email);
+
+    @Query("select u.id as id, u.username as username, u.email as email from User u "
+            + "where u.username = :username or u.email = :email")
+    List<UserIdentity> findIdentitiesByUsernameOrEmail(@Param("username") String username,
+                                                       @Param("email") String email);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.id as id, u.username as username, u.email as email from User u")
+    Stream<UserIdentity> streamAllIdentities();
+
+    @Query("select u.id as id, u.username as username, u.email as email from User u where u.id > :id")
+    List<UserIdentity> findIdentitiesWithIdGreaterThan(@Param("id") Long id);
+
+    @Query("select u.credentialVersion from User u where u.id = :id")
+    Optional<Integer> findCredentialVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.credentialVersion = u.credentialVersion + 1 where u.id = :id")
+    int incrementCredentialVersion(@Param("id") Long id);
 }
@@ -0,0 +1,87 @@
+package com.learning.authservice.security;
+
+import com.learning.authservice.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local cache of each user's current credential version. Tokens signed with an older
+ * version are refused. A user's version is read from the database at most once per
+ * TTL, so the check stays off the per-request path.
+ */
+@Component
+public class CredentialVersionRegistry {
+
+    private final UserRepository userRepository;
+
+    private final long ttlMs;
+
+    private final int maxEntries;
+
+    private final Map<Long, KnownVersion> versions = new ConcurrentHashMap<>();
+
+    public CredentialVersionRegistry(UserRepository userRepository,
+                                     @Value("${app.credentialVersionTtlMs:60000}") long ttlMs,
+                                     @Value("${app.credentialVersionMaxEntries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns true if the principal was issued with the user's current credential version.
+     */
+    public boolean isCurrent(UserDetailsImpl userDetails) {
+        Integer current = currentVersion(userDetails.getId());
+
+        return current != null && userDetails.getCredentialVersion() >= current;
+    }
+
+    /**
+     * Records a version that was just read from the database anyway, e.g. on a full user load.
+     */
+    public void record(Long userId, Integer version) {
+        if (versions.size() >= maxEntries) {
+            long now = System.currentTimeMillis();
+            versions.values().removeIf(known -> known.loadedAt() + ttlMs <= now);
+            if (versions.size() >= maxEntries) {
+                versions.clear();
+            }
+        }
+        versions.put(userId, new KnownVersion(version == null ? 0 : version, System.currentTimeMillis()));
+    }
+
+    /**
+     * Invalidates every token issued so far for the user.
+     */
+    @Transactional
+    public void bump(Long userId) {
+        userRepository.incrementCredentialVersion(userId);
+        userRepository.findCredentialVersionById(userId)
+                .ifPresent(version -> record(userId, version));
+    }
+
+    private Integer currentVersion(Long userId) {
+        KnownVersion known = versions.get(userId);
+        if (known != null && known.loadedAt() + ttlMs > System.currentTimeMillis()) {
+            return known.version();
+        }
+
+        Optional<Integer> version = userRepository.findCredentialVersionById(userId);
+        if (version.isEmpty()) {
+            versions.remove(userId);
+            return null;
+        }
+
+        record(userId, version.get());
+        return version.get();
+    }
+
+    private record KnownVersion(int version, long loadedAt) {
+    }
+}
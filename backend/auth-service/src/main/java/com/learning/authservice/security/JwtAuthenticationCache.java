@@ -0,0 +1,147 @@
+package com.learning.authservice.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of already-verified JWTs, keyed by the SHA-256 of the raw token.
+ * A hit skips both the signature check and the user lookup; entries never outlive
+ * the token's own {@code exp} claim. Revoked tokens are listed until they expire, in a list
+ * bounded by the same size; a token pushed out of it early is still refused through its
+ * revoked refresh-token family.
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private final int maxEntries;
+
+    private final LinkedHashMap<String, CachedAuthentication> entries;
+
+    private final LinkedHashMap<String, Long> revokedTokens;
+
+    public JwtAuthenticationCache(@Value("${app.jwtCacheMaxEntries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAuthentication> eldest) {
+                return size() > JwtAuthenticationCache.this.maxEntries;
+            }
+        };
+        this.revokedTokens = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > JwtAuthenticationCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached authentication for this token, or null on a miss, expiry or revocation.
+     */
+    public CachedAuthentication get(String token) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+
+        synchronized (this) {
+            CachedAuthentication cached = entries.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expiresAt() <= now) {
+                entries.remove(key);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    public CachedAuthentication put(String token, UserDetailsImpl userDetails, String familyId, Date expiration) {
+        CachedAuthentication cached = new CachedAuthentication(userDetails, familyId,
+                expiration == null ? 0 : expiration.getTime());
+        if (expiration == null) {
+            return cached;
+        }
+
+        String key = hash(token);
+        synchronized (this) {
+            if (!revokedTokens.containsKey(key)) {
+                entries.put(key, cached);
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Returns true if the token was explicitly revoked and has not expired yet.
+     */
+    public boolean isRevoked(String token) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+
+        synchronized (this) {
+            Long expiresAt = revokedTokens.get(key);
+            if (expiresAt == null) {
+                return false;
+            }
+            if (expiresAt <= now) {
+                revokedTokens.remove(key);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Drops the token from the cache and refuses it until its expiry.
+     */
+    public void revoke(String token, Date expiration) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+
+        synchronized (this) {
+            entries.remove(key);
+            pruneRevoked(now);
+            if (expiration != null && expiration.getTime() > now) {
+                revokedTokens.put(key, expiration.getTime());
+            }
+        }
+    }
+
+    /**
+     * Drops every cached token that belongs to the given user, e.g. after they signed out everywhere.
+     */
+    public synchronized void evictUser(String username) {
+        entries.values().removeIf(cached -> cached.userDetails().getUsername().equals(username));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized int revokedSize() {
+        return revokedTokens.size();
+    }
+
+    /**
+     * Drops expired revocations from the oldest end. Tokens share one lifetime, so the list is
+     * close to expiry order and this stops at the first revocation that is still live.
+     */
+    private void pruneRevoked(long now) {
+        Iterator<Long> oldest = revokedTokens.values().iterator();
+        while (oldest.hasNext() && oldest.next() <= now) {
+            oldest.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        return TokenHashing.sha256Hex(token);
+    }
+
+    public record CachedAuthentication(UserDetailsImpl userDetails, String familyId, long expiresAt) {
+    }
+}
@@ -1,5 +1,8 @@
 package com.learning.authservice.security;
 
+import com.learning.authservice.security.JwtAuthenticationCache.CachedAuthentication;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,6 +10,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -26,6 +30,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private JwtAuthenticationCache authenticationCache;
+
+    @Autowired
+    private CredentialVersionRegistry credentialVersions;
+
+    @Autowired
+    private RefreshFamilyRevocationList revokedFamilies;
+
+    @Value("${app.jwtStatelessClaims:false}")
+    private boolean statelessClaims;
+
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     @Override
@@ -33,10 +49,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = jwt != null ? authenticate(jwt) : null;
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -52,6 +66,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails authenticate(String jwt) {
+        CachedAuthentication cached = authenticationCache.get(jwt);
+
+        if (cached == null) {
+            if (authenticationCache.isRevoked(jwt)) {
+                return null;
+            }
+
+            // Parsing verifies the signature and expiry, so the token is only checked once
+            Claims claims;
+            try {
+                claims = jwtUtils.getClaimsFromJwtToken(jwt);
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.error("Invalid JWT token: {}", e.getMessage());
+                return null;
+            }
+            UserDetailsImpl userDetails = statelessClaims && jwtUtils.hasUserClaims(claims)
+                    ? UserDetailsImpl.build(claims)
+                    : loadUser(claims);
+            if (userDetails == null) {
+                return null;
+            }
+            cached = authenticationCache.put(jwt, userDetails,
+                    claims.get(JwtUtils.CLAIM_FAMILY, String.class), claims.getExpiration());
+        }
+
+        if (revokedFamilies.isRevoked(cached.familyId()) || !credentialVersions.isCurrent(cached.userDetails())) {
+            return null;
+        }
+        return cached.userDetails();
+    }
+
+    private UserDetailsImpl loadUser(Claims claims) {
+        UserDetailsImpl user = (UserDetailsImpl) userDetailsService.loadUserByUsername(claims.getSubject());
+        credentialVersions.record(user.getId(), user.getCredentialVersion());
+
+        // The user row is authoritative here, so a token from an older credential version is refused outright
+        return JwtUtils.getCredentialVersion(claims) == user.getCredentialVersion() ? user : null;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
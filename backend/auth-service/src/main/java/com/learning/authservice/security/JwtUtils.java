@@ -16,6 +16,11 @@ import java.util.Date;
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    public static final String CLAIM_ID = "id";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_CREDENTIAL_VERSION = "ver";
+    public static final String CLAIM_FAMILY = "fam";
+
     @Value("${app.jwtSecret}")
     private String jwtSecret;
 
@@ -27,19 +32,54 @@ public class JwtUtils {
     }
 
     public String generateJwtToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        return generateJwtToken((UserDetails) authentication.getPrincipal(), null);
+    }
+
+    /**
+     * Signs an access token; {@code familyId} ties it to a refresh-token family so it can be revoked with it.
+     */
+    public String generateJwtToken(UserDetails userPrincipal, String familyId) {
+        JwtBuilder builder = Jwts.builder()
+                .setSubject((userPrincipal.getUsername()));
+
+        if (userPrincipal instanceof UserDetailsImpl userDetails) {
+            builder.claim(CLAIM_ID, userDetails.getId())
+                    .claim(CLAIM_ROLE, userDetails.getAuthorities().iterator().next().getAuthority())
+                    .claim(CLAIM_CREDENTIAL_VERSION, userDetails.getCredentialVersion());
+        }
+        if (familyId != null) {
+            builder.claim(CLAIM_FAMILY, familyId);
+        }
 
-        return Jwts.builder()
-                .setSubject((userPrincipal.getUsername()))
+        return builder
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
                 .signWith(key(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * True if the token carries everything needed to build the principal without a user lookup.
+     */
+    public boolean hasUserClaims(Claims claims) {
+        return claims.get(CLAIM_ID) != null && claims.get(CLAIM_ROLE) != null;
+    }
+
+    /**
+     * Tokens issued before credential versions existed count as version 0.
+     */
+    public static int getCredentialVersion(Claims claims) {
+        Number version = claims.get(CLAIM_CREDENTIAL_VERSION, Number.class);
+        return version == null ? 0 : version.intValue();
+    }
+
     public String getUserNameFromJwtToken(String token) {
+        return getClaimsFromJwtToken(token).getSubject();
+    }
+
+    public Claims getClaimsFromJwtToken(String token) {
         return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+                .parseClaimsJws(token).getBody();
     }
 
     public boolean validateJwtToken(String authToken) {
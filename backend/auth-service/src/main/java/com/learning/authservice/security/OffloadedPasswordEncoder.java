@@ -0,0 +1,35 @@
+package com.learning.authservice.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs the BCrypt work of another encoder on the {@link PasswordHashingExecutor}. Used by the
+ * authentication provider, so the user lookup and the rehash save stay on the request thread
+ * and only hashing is handed to the pool.
+ */
+public class OffloadedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final PasswordHashingExecutor passwordHashing;
+
+    public OffloadedPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor passwordHashing) {
+        this.delegate = delegate;
+        this.passwordHashing = passwordHashing;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return passwordHashing.execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return passwordHashing.execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
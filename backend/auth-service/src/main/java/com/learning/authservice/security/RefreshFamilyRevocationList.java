@@ -0,0 +1,81 @@
+package com.learning.authservice.security;
+
+import com.learning.authservice.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory list of revoked refresh-token families. Access tokens carry their family id,
+ * so revoking a family also locks out its access tokens with no per-request DB access.
+ * A family only has to stay listed for one access-token lifetime, and revocations made
+ * on other instances are picked up by a background sync.
+ */
+@Component
+public class RefreshFamilyRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshFamilyRevocationList.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final long retentionMs;
+
+    private final Map<String, Long> revokedFamilies = new ConcurrentHashMap<>();
+
+    private volatile Instant lastSync;
+
+    public RefreshFamilyRevocationList(RefreshTokenRepository refreshTokenRepository,
+                                       @Value("${app.jwtExpirationMs}") long retentionMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.retentionMs = retentionMs;
+    }
+
+    public boolean isRevoked(String familyId) {
+        if (familyId == null) {
+            return false;
+        }
+
+        Long listedUntil = revokedFamilies.get(familyId);
+        return listedUntil != null && listedUntil > System.currentTimeMillis();
+    }
+
+    public void add(String familyId) {
+        revokedFamilies.put(familyId, System.currentTimeMillis() + retentionMs);
+    }
+
+    public int size() {
+        return revokedFamilies.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        sync();
+    }
+
+    @Scheduled(fixedDelayString = "${app.refreshFamilySyncMs:10000}")
+    public void sync() {
+        Instant now = Instant.now();
+        // Overlap the previous window a little so revocations committed mid-sync are not missed
+        Instant since = lastSync == null ? now.minusMillis(retentionMs) : lastSync.minusSeconds(5);
+
+        try {
+            List<String> families = refreshTokenRepository.findFamiliesRevokedSince(since);
+            families.forEach(this::add);
+            lastSync = now;
+        } catch (RuntimeException e) {
+            logger.warn("Could not sync revoked refresh token families: {}", e.getMessage());
+        }
+
+        long nowMs = System.currentTimeMillis();
+        revokedFamilies.values().removeIf(listedUntil -> listedUntil <= nowMs);
+    }
+}
@@ -2,6 +2,7 @@ package com.learning.authservice.security;
 
 import com.learning.authservice.model.User;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.jsonwebtoken.Claims;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -28,13 +29,22 @@ public class UserDetailsImpl implements UserDetails {
 
     private Collection<? extends GrantedAuthority> authorities;
 
+    @Getter
+    private Integer credentialVersion;
+
     public UserDetailsImpl(Long id, String username, String email, String password,
             Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, email, password, authorities, 0);
+    }
+
+    public UserDetailsImpl(Long id, String username, String email, String password,
+            Collection<? extends GrantedAuthority> authorities, Integer credentialVersion) {
         this.id = id;
         this.username = username;
         this.email = email;
         this.password = password;
         this.authorities = authorities;
+        this.credentialVersion = credentialVersion == null ? 0 : credentialVersion;
     }
 
     public static UserDetailsImpl build(User user) {
@@ -46,7 +56,24 @@ public class UserDetailsImpl implements UserDetails {
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities);
+                authorities,
+                user.getCredentialVersion());
+    }
+
+    /**
+     * Builds the principal straight from signed token claims, without touching the users table.
+     */
+    public static UserDetailsImpl build(Claims claims) {
+        List<GrantedAuthority> authorities = Collections.singletonList(
+                new SimpleGrantedAuthority(claims.get(JwtUtils.CLAIM_ROLE, String.class)));
+
+        return new UserDetailsImpl(
+                claims.get(JwtUtils.CLAIM_ID, Number.class).longValue(),
+                claims.getSubject(),
+                null,
+                null,
+                authorities,
+                JwtUtils.getCredentialVersion(claims));
     }
 
     @Override
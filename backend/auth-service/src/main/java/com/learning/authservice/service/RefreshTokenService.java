@@ -0,0 +1,117 @@
+package com.learning.authservice.service;
+
+import com.learning.authservice.model.RefreshToken;
+import com.learning.authservice.repository.RefreshTokenRepository;
+import com.learning.authservice.security.RefreshFamilyRevocationList;
+import com.learning.authservice.security.TokenHashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens. Every refresh consumes the presented token and returns
+ * a new one in the same family. Presenting an already-used token is treated as theft and
+ * revokes the whole family.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final RefreshFamilyRevocationList revokedFamilies;
+
+    private final long refreshExpirationMs;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               RefreshFamilyRevocationList revokedFamilies,
+                               @Value("${app.jwtRefreshExpirationMs}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedFamilies = revokedFamilies;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    /**
+     * Starts a new family for a fresh sign-in.
+     */
+    @Transactional
+    public IssuedRefreshToken issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consumes the presented token and issues its successor, or returns empty if the token
+     * is unknown, expired, revoked or being replayed.
+     */
+    @Transactional
+    public Optional<IssuedRefreshToken> rotate(String rawToken) {
+        Optional<RefreshToken> found = refreshTokenRepository.findByTokenHash(TokenHashing.sha256Hex(rawToken));
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken current = found.get();
+        if (current.getRevokedAt() != null || current.getExpiresAt().isBefore(Instant.now())) {
+            return Optional.empty();
+        }
+        // The conditional update makes concurrent refreshes with the same token race safely
+        if (current.isUsed() || refreshTokenRepository.markUsed(current.getId()) == 0) {
+            logger.warn("Refresh token reuse detected, revoking family {}", current.getFamilyId());
+            revokeFamily(current.getFamilyId());
+            return Optional.empty();
+        }
+
+        return Optional.of(issue(current.getUserId(), current.getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId, Instant.now());
+        revokedFamilies.add(familyId);
+    }
+
+    /**
+     * Revokes every family the user holds, so no refresh token issued before this call can
+     * be rotated. Their access tokens are already locked out by the credential version bump.
+     */
+    @Transactional
+    public int revokeAllFamilies(Long userId) {
+        return refreshTokenRepository.revokeAllForUser(userId, Instant.now());
+    }
+
+    @Scheduled(cron = "${app.refreshTokenCleanupCron:0 0 3 * * *}")
+    @Transactional
+    public void deleteExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        logger.info("Deleted {} expired refresh tokens", deleted);
+    }
+
+    private IssuedRefreshToken issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(new RefreshToken(
+                TokenHashing.sha256Hex(rawToken),
+                userId,
+                familyId,
+                Instant.now().plusMillis(refreshExpirationMs)));
+
+        return new IssuedRefreshToken(rawToken, userId, familyId);
+    }
+
+    public record IssuedRefreshToken(String token, Long userId, String familyId) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.learning.authservice.service;
+
+import com.learning.authservice.repository.UserIdentity;
+import com.learning.authservice.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filters of taken usernames and emails. Names that are definitely free are
+ * answered without touching Postgres, and possible matches are confirmed with one combined query.
+ * Until the startup load finishes, every lookup falls through to the database. Users registered on
+ * other instances are picked up by a background sync, so for up to one sync interval their names
+ * can still be reported as available here; signup itself is guarded by the unique constraints.
+ */
+@Service
+public class UserAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityIndex.class);
+
+    // Ids are taken before their insert commits, so the sync re-reads this many ids below the highest one seen
+    private static final long ID_OVERLAP = 1000;
+
+    private final UserRepository userRepository;
+
+    private final BloomFilter usernames;
+
+    private final BloomFilter emails;
+
+    private volatile boolean loaded;
+
+    private volatile long highestId;
+
+    public UserAvailabilityIndex(UserRepository userRepository,
+                                 @Value("${app.signup.expectedUsers:1000000}") long expectedUsers,
+                                 @Value("${app.signup.falsePositiveRate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long count = 0;
+        long highest = 0;
+        try (Stream<UserIdentity> identities = userRepository.streamAllIdentities()) {
+            for (UserIdentity identity : (Iterable<UserIdentity>) identities::iterator) {
+                add(identity.getUsername(), identity.getEmail());
+                highest = Math.max(highest, identity.getId());
+                count++;
+            }
+        }
+
+        highestId = highest;
+        loaded = true;
+        logger.info("Loaded {} users into the availability index", count);
+    }
+
+    /**
+     * Adds users registered since the last sync, on this or any other instance.
+     */
+    @Scheduled(fixedDelayString = "${app.signup.availabilitySyncMs:10000}")
+    public void sync() {
+        if (!loaded) {
+            return;
+        }
+
+        try {
+            long highest = highestId;
+            for (UserIdentity identity : userRepository.findIdentitiesWithIdGreaterThan(Math.max(0, highest - ID_OVERLAP))) {
+                add(identity.getUsername(), identity.getEmail());
+                highest = Math.max(highest, identity.getId());
+            }
+            highestId = highest;
+        } catch (RuntimeException e) {
+            logger.warn("Could not sync the availability index: {}", e.getMessage());
+        }
+    }
+
+    public void add(String username, String email) {
+        if (username != null) {
+            usernames.put(username);
+        }
+        if (email != null) {
+            emails.put(email);
+        }
+    }
+
+    /**
+     * Checks the given username and/or email; a null argument is reported as available.
+     */
+    public Availability check(String username, String email) {
+        boolean checkUsername = username != null && (!loaded || usernames.mightContain(username));
+        boolean checkEmail = email != null && (!loaded || emails.mightContain(email));
+
+        if (!checkUsername && !checkEmail) {
+            return new Availability(true, true);
+        }
+
+        List<UserIdentity> matches = userRepository.findIdentitiesByUsernameOrEmail(
+                checkUsername ? username : null,
+                checkEmail ? email : null);
+
+        boolean usernameTaken = checkUsername && matches.stream().anyMatch(u -> username.equals(u.getUsername()));
+        boolean emailTaken = checkEmail && matches.stream().anyMatch(u -> email.equals(u.getEmail()));
+
+        return new Availability(!usernameTaken, !emailTaken);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public record Availability(boolean usernameAvailable, boolean emailAvailable) {
+    }
+}
@@ -0,0 +1,25 @@
+-- Matches the schema Hibernate created with ddl-auto: update, so existing databases
+-- (baselined at version 0) run this script as a no-op.
+
+CREATE TABLE IF NOT EXISTS users (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username           VARCHAR(255) UNIQUE,
+    password           VARCHAR(255),
+    email              VARCHAR(255) UNIQUE,
+    role               VARCHAR(255),
+    credential_version INTEGER DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token_hash VARCHAR(64)                 NOT NULL UNIQUE,
+    user_id    BIGINT                      NOT NULL,
+    family_id  VARCHAR(36)                 NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    used       BOOLEAN                     NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_revoked_at ON refresh_tokens (revoked_at);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
@@ -4,9 +4,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.learning.authservice.model.User;
 import com.learning.authservice.payload.request.LoginRequest;
 import com.learning.authservice.payload.request.SignupRequest;
+import com.learning.authservice.repository.UserIdentity;
 import com.learning.authservice.repository.UserRepository;
+import com.learning.authservice.security.JwtAuthenticationCache;
 import com.learning.authservice.security.JwtUtils;
 import com.learning.authservice.security.UserDetailsImpl;
+import com.learning.authservice.service.RefreshTokenService;
+import com.learning.authservice.service.UserAvailabilityIndex;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -19,12 +25,24 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -49,6 +67,22 @@ class AuthControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JwtAuthenticationCache authenticationCache;
+
+    @Autowired
+    private UserAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    private UserIdentity identity(String username, String email) {
+        UserIdentity identity = mock(UserIdentity.class);
+        when(identity.getUsername()).thenReturn(username);
+        when(identity.getEmail()).thenReturn(email);
+        return identity;
+    }
+
     @Test
     void testAuthenticateUser_Success() throws Exception {
         LoginRequest loginRequest = new LoginRequest();
@@ -66,12 +100,50 @@ class AuthControllerTest {
 
         when(userRepository.findByUsername("testUser"))
                 .thenReturn(Optional.of(new User("testUser", "password", "test@test.com", "ROLE_USER")));
-        when(jwtUtils.generateJwtToken(any())).thenReturn("jwtToken");
+        when(jwtUtils.generateJwtToken(any(), any())).thenReturn("jwtToken");
 
         mockMvc.perform(post("/api/auth/signin")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("jwtToken"))
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty());
+    }
+
+    @Test
+    void testAuthenticateUser_BusyHashingPoolGives503() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("testUser");
+        loginRequest.setPassword("password");
+        when(authenticationManager.authenticate(any())).thenThrow(new RejectedExecutionException("busy"));
+
+        mockMvc.perform(post("/api/auth/signin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testRefreshToken_RotatesToken() throws Exception {
+        User user = new User("testUser", "password", "test@test.com", "ROLE_USER");
+        user.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(jwtUtils.generateJwtToken(any(), any())).thenReturn("newJwtToken");
+        String refreshToken = refreshTokenService.issue(1L).token();
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("newJwtToken"))
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty());
+
+        // The consumed token cannot be replayed
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isUnauthorized());
     }
 
     @Test
@@ -81,8 +153,6 @@ class AuthControllerTest {
         signupRequest.setPassword("password");
         signupRequest.setEmail("new@example.com");
 
-        when(userRepository.existsByUsername("newUser")).thenReturn(false);
-        when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
         when(encoder.encode(any())).thenReturn("encodedPassword");
 
         mockMvc.perform(post("/api/auth/signup")
@@ -98,7 +168,9 @@ class AuthControllerTest {
         signupRequest.setPassword("password");
         signupRequest.setEmail("new@example.com");
 
-        when(userRepository.existsByUsername("existingUser")).thenReturn(true);
+        availabilityIndex.add("existingUser", null);
+        UserIdentity existing = identity("existingUser", "existing@example.com");
+        when(userRepository.findIdentitiesByUsernameOrEmail(eq("existingUser"), any())).thenReturn(List.of(existing));
 
         mockMvc.perform(post("/api/auth/signup")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -113,11 +185,77 @@ class AuthControllerTest {
         signupRequest.setPassword("password");
         signupRequest.setEmail("existing@example.com");
 
-        when(userRepository.existsByEmail("existing@example.com")).thenReturn(true);
+        availabilityIndex.add(null, "existing@example.com");
+        UserIdentity existing = identity("otherUser", "existing@example.com");
+        when(userRepository.findIdentitiesByUsernameOrEmail(any(), eq("existing@example.com"))).thenReturn(List.of(existing));
 
         mockMvc.perform(post("/api/auth/signup")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(signupRequest)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void testLogoutUser_RevokesToken() throws Exception {
+        Date expiration = new Date(System.currentTimeMillis() + 3600000);
+        when(jwtUtils.getClaimsFromJwtToken("jwtToken")).thenReturn(Jwts.claims().setExpiration(expiration));
+
+        mockMvc.perform(post("/api/auth/signout")
+                .header("Authorization", "Bearer jwtToken"))
+                .andExpect(status().isOk());
+
+        assertTrue(authenticationCache.isRevoked("jwtToken"));
+    }
+
+    @Test
+    void testLogoutUser_IgnoresTokenThatDoesNotVerify() throws Exception {
+        when(jwtUtils.getClaimsFromJwtToken("expiredToken")).thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+        mockMvc.perform(post("/api/auth/signout")
+                .header("Authorization", "Bearer expiredToken"))
+                .andExpect(status().isOk());
+
+        assertFalse(authenticationCache.isRevoked("expiredToken"));
+    }
+
+    @Test
+    void testLogoutEverywhere_RevokesRefreshTokens() throws Exception {
+        User user = new User("testUser", "password", "test@test.com", "ROLE_USER");
+        user.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        String refreshToken = refreshTokenService.issue(1L).token();
+
+        mockMvc.perform(post("/api/auth/signout-all")
+                .with(user(UserDetailsImpl.build(user))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testCheckAvailability() throws Exception {
+        availabilityIndex.add("takenUser", null);
+        UserIdentity taken = identity("takenUser", "taken@example.com");
+        when(userRepository.findIdentitiesByUsernameOrEmail("takenUser", null)).thenReturn(List.of(taken));
+
+        mockMvc.perform(get("/api/auth/availability")
+                .param("username", "takenUser")
+                .param("email", "free@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usernameAvailable").value(false))
+                .andExpect(jsonPath("$.emailAvailable").value(true));
+    }
+
+    @Test
+    void testCheckAvailability_FreeNameSkipsDatabase() throws Exception {
+        mockMvc.perform(get("/api/auth/availability")
+                .param("username", "brandNewUser"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usernameAvailable").value(true));
+
+        verify(userRepository, never()).findIdentitiesByUsernameOrEmail(any(), any());
+    }
 }
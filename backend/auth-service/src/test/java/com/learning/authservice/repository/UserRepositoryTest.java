@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,4 +43,28 @@ class UserRepositoryTest {
         assertTrue(userRepository.existsByEmail("email@example.com"));
         assertFalse(userRepository.existsByEmail("other@example.com"));
     }
+
+    @Test
+    void testFindIdentitiesByUsernameOrEmail() {
+        userRepository.save(new User("firstUser", "password", "first@example.com", "ROLE_USER"));
+        userRepository.save(new User("secondUser", "password", "second@example.com", "ROLE_USER"));
+
+        List<UserIdentity> matches = userRepository.findIdentitiesByUsernameOrEmail("firstUser", "second@example.com");
+        List<UserIdentity> usernameOnly = userRepository.findIdentitiesByUsernameOrEmail("firstUser", null);
+
+        assertEquals(2, matches.size());
+        assertEquals(1, usernameOnly.size());
+        assertEquals("first@example.com", usernameOnly.get(0).getEmail());
+    }
+
+    @Test
+    void testFindIdentitiesWithIdGreaterThan() {
+        User first = userRepository.save(new User("olderUser", "password", "older@example.com", "ROLE_USER"));
+        userRepository.save(new User("newerUser", "password", "newer@example.com", "ROLE_USER"));
+
+        List<UserIdentity> newer = userRepository.findIdentitiesWithIdGreaterThan(first.getId());
+
+        assertEquals(1, newer.size());
+        assertEquals("newerUser", newer.get(0).getUsername());
+    }
 }
@@ -0,0 +1,67 @@
+package com.learning.authservice.security;
+
+import com.learning.authservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CredentialVersionRegistryTest {
+
+    private UserRepository userRepository;
+    private CredentialVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        registry = new CredentialVersionRegistry(userRepository, 60000, 100);
+    }
+
+    private UserDetailsImpl principal(Long id, int credentialVersion) {
+        return new UserDetailsImpl(id, "testUser", null, null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")), credentialVersion);
+    }
+
+    @Test
+    void testIsCurrent_LoadsVersionOncePerTtl() {
+        when(userRepository.findCredentialVersionById(1L)).thenReturn(Optional.of(0));
+
+        assertTrue(registry.isCurrent(principal(1L, 0)));
+        assertTrue(registry.isCurrent(principal(1L, 0)));
+
+        verify(userRepository, times(1)).findCredentialVersionById(1L);
+    }
+
+    @Test
+    void testIsCurrent_RejectsOlderVersion() {
+        registry.record(1L, 2);
+
+        assertFalse(registry.isCurrent(principal(1L, 1)));
+        assertTrue(registry.isCurrent(principal(1L, 2)));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testIsCurrent_RejectsUnknownUser() {
+        when(userRepository.findCredentialVersionById(99L)).thenReturn(Optional.empty());
+
+        assertFalse(registry.isCurrent(principal(99L, 0)));
+    }
+
+    @Test
+    void testBump_InvalidatesOlderTokens() {
+        registry.record(1L, 0);
+        when(userRepository.findCredentialVersionById(1L)).thenReturn(Optional.of(1));
+
+        registry.bump(1L);
+
+        verify(userRepository).incrementCredentialVersion(1L);
+        assertFalse(registry.isCurrent(principal(1L, 0)));
+        assertTrue(registry.isCurrent(principal(1L, 1)));
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,4 +45,16 @@ class CustomUserDetailsServiceTest {
             userDetailsService.loadUserByUsername("unknownUser");
         });
     }
+
+    @Test
+    void testUpdatePassword_StoresRehashedPassword() {
+        User user = new User("testUser", "oldHash", "test@example.com", "ROLE_USER");
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+
+        UserDetails updated = userDetailsService.updatePassword(UserDetailsImpl.build(user), "newHash");
+
+        assertEquals("newHash", updated.getPassword());
+        assertEquals("newHash", user.getPassword());
+        verify(userRepository).save(user);
+    }
 }
@@ -0,0 +1,105 @@
+package com.learning.authservice.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthenticationCacheTest {
+
+    private final Date inOneHour = new Date(System.currentTimeMillis() + 3600000);
+
+    private UserDetailsImpl user(Long id, String username) {
+        return new UserDetailsImpl(id, username, username + "@test.com", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Test
+    void testPutAndGet() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(10);
+        UserDetailsImpl userDetails = user(1L, "testUser");
+
+        cache.put("token", userDetails, "family", inOneHour);
+
+        assertSame(userDetails, cache.get("token").userDetails());
+        assertEquals("family", cache.get("token").familyId());
+        assertNull(cache.get("otherToken"));
+    }
+
+    @Test
+    void testGet_ExpiredEntryIsDropped() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(10);
+
+        cache.put("token", user(1L, "testUser"), null, new Date(System.currentTimeMillis() - 1000));
+
+        assertNull(cache.get("token"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsed() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(2);
+
+        cache.put("token1", user(1L, "user1"), null, inOneHour);
+        cache.put("token2", user(2L, "user2"), null, inOneHour);
+        cache.get("token1");
+        cache.put("token3", user(3L, "user3"), null, inOneHour);
+
+        assertNotNull(cache.get("token1"));
+        assertNull(cache.get("token2"));
+        assertNotNull(cache.get("token3"));
+    }
+
+    @Test
+    void testRevoke() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(10);
+        cache.put("token", user(1L, "testUser"), null, inOneHour);
+
+        cache.revoke("token", inOneHour);
+        cache.put("token", user(1L, "testUser"), null, inOneHour);
+
+        assertNull(cache.get("token"));
+        assertTrue(cache.isRevoked("token"));
+        assertFalse(cache.isRevoked("otherToken"));
+    }
+
+    @Test
+    void testRevoke_BoundsTheRevocationList() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(2);
+
+        cache.revoke("token1", inOneHour);
+        cache.revoke("token2", inOneHour);
+        cache.revoke("token3", inOneHour);
+
+        assertEquals(2, cache.revokedSize());
+        assertFalse(cache.isRevoked("token1"));
+        assertTrue(cache.isRevoked("token3"));
+    }
+
+    @Test
+    void testRevoke_PrunesExpiredRevocations() throws InterruptedException {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(10);
+        cache.revoke("token1", new Date(System.currentTimeMillis() + 50));
+        cache.revoke("token2", new Date(System.currentTimeMillis() + 50));
+
+        Thread.sleep(100);
+        cache.revoke("token3", inOneHour);
+
+        assertEquals(1, cache.revokedSize());
+    }
+
+    @Test
+    void testEvictUser() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(10);
+        cache.put("token1", user(1L, "user1"), null, inOneHour);
+        cache.put("token2", user(2L, "user2"), null, inOneHour);
+
+        cache.evictUser("user1");
+
+        assertNull(cache.get("token1"));
+        assertNotNull(cache.get("token2"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.learning.authservice.security;
 
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,9 +8,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 
@@ -84,4 +88,32 @@ class JwtUtilsTest {
     void testValidateJwtToken_Empty() {
         assertFalse(jwtUtils.validateJwtToken(""));
     }
+
+    @Test
+    void testGenerateJwtToken_EmbedsUserClaims() {
+        UserDetailsImpl principal = new UserDetailsImpl(7L, "testUser", "test@test.com", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")), 3);
+        when(authentication.getPrincipal()).thenReturn(principal);
+
+        String token = jwtUtils.generateJwtToken(authentication);
+        Claims claims = jwtUtils.getClaimsFromJwtToken(token);
+        UserDetailsImpl fromClaims = UserDetailsImpl.build(claims);
+
+        assertTrue(jwtUtils.hasUserClaims(claims));
+        assertEquals(7L, fromClaims.getId());
+        assertEquals("testUser", fromClaims.getUsername());
+        assertEquals("ROLE_ADMIN", fromClaims.getAuthorities().iterator().next().getAuthority());
+        assertEquals(3, fromClaims.getCredentialVersion());
+    }
+
+    @Test
+    void testHasUserClaims_FalseForSubjectOnlyToken() {
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+        when(userDetails.getUsername()).thenReturn("testUser");
+
+        String token = jwtUtils.generateJwtToken(authentication);
+
+        assertFalse(jwtUtils.hasUserClaims(jwtUtils.getClaimsFromJwtToken(token)));
+        assertEquals(0, JwtUtils.getCredentialVersion(jwtUtils.getClaimsFromJwtToken(token)));
+    }
 }
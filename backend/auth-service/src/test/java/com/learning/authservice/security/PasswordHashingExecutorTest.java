@@ -0,0 +1,100 @@
+package com.learning.authservice.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, 1000);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testExecute_ReturnsResult() {
+        assertEquals("hash", executor.execute(() -> "hash"));
+    }
+
+    @Test
+    void testExecute_RethrowsRuntimeException() {
+        assertThrows(BadCredentialsException.class, () -> executor.execute(() -> {
+            throw new BadCredentialsException("Bad credentials");
+        }));
+    }
+
+    @Test
+    void testExecute_RejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            started.countDown();
+            await(release);
+            return "first";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> "second"));
+        while (executor.getQueueSize() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> "third"));
+
+        release.countDown();
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testExecute_GivesUpAfterTheTimeout() {
+        PasswordHashingExecutor slow = new PasswordHashingExecutor(1, 1, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            assertThrows(RejectedExecutionException.class, () -> slow.execute(() -> {
+                await(release);
+                return "late";
+            }));
+        } finally {
+            release.countDown();
+            slow.shutdown();
+        }
+    }
+
+    @Test
+    void testOffloadedPasswordEncoder_HashesOnThePool() {
+        OffloadedPasswordEncoder encoder = new OffloadedPasswordEncoder(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return Thread.currentThread().getName();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return Thread.currentThread().getName().startsWith("password-hashing-");
+            }
+        }, executor);
+
+        assertTrue(encoder.encode("secret").startsWith("password-hashing-"));
+        assertTrue(encoder.matches("secret", "hash"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
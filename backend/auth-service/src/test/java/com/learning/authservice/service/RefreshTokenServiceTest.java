@@ -0,0 +1,89 @@
+package com.learning.authservice.service;
+
+import com.learning.authservice.model.RefreshToken;
+import com.learning.authservice.repository.RefreshTokenRepository;
+import com.learning.authservice.security.RefreshFamilyRevocationList;
+import com.learning.authservice.security.TokenHashing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshFamilyRevocationList revokedFamilies;
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        revokedFamilies = new RefreshFamilyRevocationList(refreshTokenRepository, 60000);
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, revokedFamilies, 3600000);
+    }
+
+    private RefreshToken stored(String rawToken, boolean used) {
+        RefreshToken token = new RefreshToken(TokenHashing.sha256Hex(rawToken), 1L, "family",
+                Instant.now().plusSeconds(3600));
+        token.setId(10L);
+        token.setUsed(used);
+        return token;
+    }
+
+    @Test
+    void testIssue_StoresOnlyTheHash() {
+        RefreshTokenService.IssuedRefreshToken issued = refreshTokenService.issue(1L);
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertEquals(TokenHashing.sha256Hex(issued.token()), captor.getValue().getTokenHash());
+        assertEquals(issued.familyId(), captor.getValue().getFamilyId());
+        assertNotEquals(issued.token(), captor.getValue().getTokenHash());
+    }
+
+    @Test
+    void testRotate_IssuesSuccessorInSameFamily() {
+        when(refreshTokenRepository.findByTokenHash(TokenHashing.sha256Hex("raw"))).thenReturn(Optional.of(stored("raw", false)));
+        when(refreshTokenRepository.markUsed(10L)).thenReturn(1);
+
+        Optional<RefreshTokenService.IssuedRefreshToken> rotated = refreshTokenService.rotate("raw");
+
+        assertTrue(rotated.isPresent());
+        assertEquals("family", rotated.get().familyId());
+        assertNotEquals("raw", rotated.get().token());
+        assertFalse(revokedFamilies.isRevoked("family"));
+    }
+
+    @Test
+    void testRotate_ReuseRevokesFamily() {
+        when(refreshTokenRepository.findByTokenHash(TokenHashing.sha256Hex("raw"))).thenReturn(Optional.of(stored("raw", true)));
+
+        Optional<RefreshTokenService.IssuedRefreshToken> rotated = refreshTokenService.rotate("raw");
+
+        assertTrue(rotated.isEmpty());
+        verify(refreshTokenRepository).revokeFamily(eq("family"), any());
+        assertTrue(revokedFamilies.isRevoked("family"));
+    }
+
+    @Test
+    void testRevokeAllFamilies_RevokesByUser() {
+        when(refreshTokenRepository.revokeAllForUser(eq(1L), any())).thenReturn(3);
+
+        assertEquals(3, refreshTokenService.revokeAllFamilies(1L));
+    }
+
+    @Test
+    void testRotate_UnknownToken() {
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        assertTrue(refreshTokenService.rotate("unknown").isEmpty());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,96 @@
+package com.learning.authservice.service;
+
+import com.learning.authservice.repository.UserIdentity;
+import com.learning.authservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserAvailabilityIndexTest {
+
+    private UserRepository userRepository;
+    private UserAvailabilityIndex index;
+    private long nextId;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        index = new UserAvailabilityIndex(userRepository, 1000, 0.01);
+    }
+
+    private UserIdentity identity(String username, String email) {
+        UserIdentity identity = mock(UserIdentity.class);
+        when(identity.getId()).thenReturn(++nextId);
+        when(identity.getUsername()).thenReturn(username);
+        when(identity.getEmail()).thenReturn(email);
+        return identity;
+    }
+
+    @Test
+    void testCheck_BeforeLoadQueriesDatabase() {
+        when(userRepository.findIdentitiesByUsernameOrEmail("testUser", "test@example.com")).thenReturn(List.of());
+
+        UserAvailabilityIndex.Availability availability = index.check("testUser", "test@example.com");
+
+        assertTrue(availability.usernameAvailable());
+        assertTrue(availability.emailAvailable());
+        verify(userRepository).findIdentitiesByUsernameOrEmail("testUser", "test@example.com");
+    }
+
+    @Test
+    void testCheck_UnknownNamesSkipDatabaseAfterLoad() {
+        UserIdentity existing = identity("existingUser", "existing@example.com");
+        when(userRepository.streamAllIdentities()).thenReturn(Stream.of(existing));
+        index.load();
+
+        UserAvailabilityIndex.Availability availability = index.check("newUser", "new@example.com");
+
+        assertTrue(index.isLoaded());
+        assertTrue(availability.usernameAvailable());
+        assertTrue(availability.emailAvailable());
+        verify(userRepository, never()).findIdentitiesByUsernameOrEmail(any(), any());
+    }
+
+    @Test
+    void testCheck_PossibleMatchConfirmedWithSingleQuery() {
+        UserIdentity existing = identity("existingUser", "existing@example.com");
+        when(userRepository.streamAllIdentities()).thenReturn(Stream.of(existing));
+        when(userRepository.findIdentitiesByUsernameOrEmail("existingUser", null)).thenReturn(List.of(existing));
+        index.load();
+
+        UserAvailabilityIndex.Availability availability = index.check("existingUser", "new@example.com");
+
+        assertFalse(availability.usernameAvailable());
+        assertTrue(availability.emailAvailable());
+        verify(userRepository, times(1)).findIdentitiesByUsernameOrEmail(any(), any());
+    }
+
+    @Test
+    void testSync_AddsUsersRegisteredOnOtherInstances() {
+        UserIdentity existing = identity("existingUser", "existing@example.com");
+        UserIdentity elsewhere = identity("elsewhereUser", "elsewhere@example.com");
+        when(userRepository.streamAllIdentities()).thenReturn(Stream.of(existing));
+        when(userRepository.findIdentitiesWithIdGreaterThan(0L)).thenReturn(List.of(existing, elsewhere));
+        when(userRepository.findIdentitiesByUsernameOrEmail("elsewhereUser", null)).thenReturn(List.of(elsewhere));
+        index.load();
+
+        index.sync();
+        UserAvailabilityIndex.Availability availability = index.check("elsewhereUser", "new@example.com");
+
+        assertFalse(availability.usernameAvailable());
+        assertTrue(availability.emailAvailable());
+    }
+
+    @Test
+    void testSync_SkippedBeforeLoad() {
+        index.sync();
+
+        verify(userRepository, never()).findIdentitiesWithIdGreaterThan(any());
+    }
+}
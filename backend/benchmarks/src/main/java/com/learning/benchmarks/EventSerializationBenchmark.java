@@ -0,0 +1,94 @@
+package com.learning.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.learning.events.TaskEvent;
+import com.learning.events.TaskEventCodec;
+import com.learning.events.TaskEventSerializer;
+import com.learning.taskmanagement.model.Task;
+import org.apache.avro.generic.GenericRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the task list responses, and JSON vs Avro cost of the events published to Kafka.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int taskCount;
+
+    private ObjectMapper objectMapper;
+
+    private List<Task> tasks;
+
+    private TaskEvent event;
+
+    private byte[] eventJson;
+
+    private TaskEventCodec codec;
+
+    private TaskEventSerializer avroSerializer;
+
+    private byte[] eventAvro;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // Same date handling as the Spring Boot auto-configured mapper
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        tasks = new ArrayList<>(taskCount);
+        for (long i = 1; i <= taskCount; i++) {
+            Task task = new Task(i, "Task " + i, "Description of benchmark task " + i, "TODO");
+            task.setCreatedAt(LocalDateTime.now());
+            task.setUpdatedAt(LocalDateTime.now());
+            tasks.add(task);
+        }
+
+        event = new TaskEvent(1L, "Task 1", "Description of benchmark task 1", "TODO", "CREATED");
+        eventJson = objectMapper.writeValueAsBytes(event);
+
+        codec = new TaskEventCodec();
+        avroSerializer = new TaskEventSerializer(codec);
+        eventAvro = avroSerializer.serialize("task-events", event);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskEvent() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public TaskEvent deserializeTaskEvent() throws java.io.IOException {
+        return objectMapper.readValue(eventJson, TaskEvent.class);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskEventAvro() {
+        return avroSerializer.serialize("task-events", event);
+    }
+
+    @Benchmark
+    public GenericRecord deserializeTaskEventAvro() {
+        return codec.decode(eventAvro);
+    }
+}
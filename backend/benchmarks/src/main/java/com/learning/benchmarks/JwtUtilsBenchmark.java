@@ -0,0 +1,57 @@
+package com.learning.benchmarks;
+
+import com.learning.authservice.security.JwtUtils;
+import com.learning.authservice.security.UserDetailsImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks done by JwtAuthenticationFilter on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private JwtUtils jwtUtils;
+
+    private String validToken;
+
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = newJwtUtils();
+
+        UserDetailsImpl user = new UserDetailsImpl(1L, "benchmark", "benchmark@example.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        validToken = jwtUtils.generateJwtToken(user, "family");
+        tamperedToken = validToken.substring(0, validToken.length() - 2) + "xx";
+    }
+
+    @Benchmark
+    public String validateAndGetUsername() {
+        if (!jwtUtils.validateJwtToken(validToken)) {
+            throw new IllegalStateException("Benchmark token should be valid");
+        }
+        return jwtUtils.getUserNameFromJwtToken(validToken);
+    }
+
+    @Benchmark
+    public boolean validateTamperedToken() {
+        return jwtUtils.validateJwtToken(tamperedToken);
+    }
+
+    static JwtUtils newJwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        BenchmarkSupport.setField(jwtUtils, "jwtSecret", "benchmarkSecretKeyThatIsLongEnoughForHs256Signatures");
+        BenchmarkSupport.setField(jwtUtils, "jwtExpirationMs", 900000);
+        return jwtUtils;
+    }
+}
@@ -0,0 +1,108 @@
+package com.learning.benchmarks;
+
+import com.learning.events.TaskEvent;
+import com.learning.events.TaskEventSerializer;
+import com.learning.taskmanagement.config.KafkaConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task event publishing against an embedded broker, comparing the client defaults (which
+ * KafkaConfig ships) with lingering for larger batches under each codec. {@code bulkImport}
+ * reports events/sec for bursts of sends; {@code sendAndAwaitAck} reports the send-to-ack
+ * latency distribution (including p0.99) seen by concurrent writers.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaProducerBenchmark {
+
+    private static final String TOPIC = "task-events";
+
+    private static final int BULK_SIZE = 1000;
+
+    /**
+     * baseline: Kafka client defaults; none/lz4/zstd: 10 ms linger and 64 KiB batches with that codec.
+     */
+    @Param({"baseline", "none", "lz4", "zstd"})
+    private String profile;
+
+    private EmbeddedKafkaKraftBroker broker;
+
+    private DefaultKafkaProducerFactory<String, TaskEvent> producerFactory;
+
+    private KafkaTemplate<String, TaskEvent> kafkaTemplate;
+
+    private List<TaskEvent> events;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        broker = new EmbeddedKafkaKraftBroker(1, 3, TOPIC);
+        broker.afterPropertiesSet();
+
+        Map<String, Object> props = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, TaskEventSerializer.class);
+        if (!"baseline".equals(profile)) {
+            props = tunedConfig(profile).producerProperties(props);
+        }
+        producerFactory = new DefaultKafkaProducerFactory<>(props);
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+
+        events = new ArrayList<>(BULK_SIZE);
+        for (long i = 1; i <= BULK_SIZE; i++) {
+            events.add(new TaskEvent(i, "Imported task " + i,
+                    "Description of imported task " + i + " from the legacy tracker", "TODO", "CREATED"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        producerFactory.destroy();
+        broker.destroy();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BULK_SIZE)
+    public void bulkImport() throws InterruptedException, ExecutionException {
+        List<CompletableFuture<SendResult<String, TaskEvent>>> acks = new ArrayList<>(BULK_SIZE);
+        for (TaskEvent event : events) {
+            acks.add(kafkaTemplate.send(TOPIC, event.getTaskId().toString(), event));
+        }
+        CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).get();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(8)
+    public SendResult<String, TaskEvent> sendAndAwaitAck() throws InterruptedException, ExecutionException {
+        TaskEvent event = events.get((int) (Thread.currentThread().getId() % BULK_SIZE));
+        return kafkaTemplate.send(TOPIC, event.getTaskId().toString(), event).get();
+    }
+
+    private static KafkaConfig tunedConfig(String compressionType) {
+        KafkaConfig config = new KafkaConfig();
+        BenchmarkSupport.setField(config, "lingerMs", 10);
+        BenchmarkSupport.setField(config, "batchSize", 65536);
+        BenchmarkSupport.setField(config, "compressionType", compressionType);
+        BenchmarkSupport.setField(config, "enableIdempotence", true);
+        return config;
+    }
+}
@@ -0,0 +1,136 @@
+package com.learning.benchmarks;
+
+import com.learning.events.TaskEvent;
+import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.producer.TaskEventProducer;
+import com.learning.taskmanagement.repository.TaskRepository;
+import com.learning.taskmanagement.service.TaskBatchLoader;
+import com.learning.taskmanagement.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService CRUD against an embedded H2 database, with Kafka publishing stubbed out
+ * so only the service and persistence layers are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+
+    @Param({"1000"})
+    private int seededTasks;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskService taskService;
+
+    private List<Long> taskIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .properties("spring.config.name=benchmark")
+                .run();
+        taskService = context.getBean(TaskService.class);
+
+        taskIds = new ArrayList<>(seededTasks);
+        for (int i = 0; i < seededTasks; i++) {
+            Task task = taskService.createTask(newTask(i));
+            taskIds.add(task.getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task getTaskById() {
+        return taskService.getTaskById(randomTaskId()).orElseThrow();
+    }
+
+    @Benchmark
+    public List<Task> getTasksByStatus() {
+        return taskService.getTasksByStatus(STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)]);
+    }
+
+    @Benchmark
+    public List<Task> searchTasks() {
+        return taskService.searchTasks("task 1");
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        int i = ThreadLocalRandom.current().nextInt(seededTasks);
+        return taskService.updateTask(taskIds.get(i), newTask(i));
+    }
+
+    /**
+     * Create and delete are measured together so the table size stays constant.
+     */
+    @Benchmark
+    public Long createAndDeleteTask() {
+        Task task = taskService.createTask(newTask(seededTasks));
+        taskService.deleteTask(task.getId());
+        return task.getId();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 3, time = 2)
+    public List<Task> getAllTasks() {
+        return taskService.getAllTasks();
+    }
+
+    private Long randomTaskId() {
+        return taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+    }
+
+    private static Task newTask(int i) {
+        return new Task(null, "Task " + i, "Description of benchmark task " + i, STATUSES[i % STATUSES.length]);
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = {
+            KafkaAutoConfiguration.class,
+            SecurityAutoConfiguration.class,
+            UserDetailsServiceAutoConfiguration.class
+    })
+    @EntityScan(basePackageClasses = Task.class)
+    @EnableJpaRepositories(basePackageClasses = TaskRepository.class)
+    @Import({TaskService.class, TaskBatchLoader.class})
+    static class BenchmarkApplication {
+
+        @Bean
+        TaskEventProducer taskEventProducer() {
+            return new TaskEventProducer(null, new SimpleMeterRegistry()) {
+                @Override
+                public void sendTaskEvent(TaskEvent event) {
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.learning.benchmarks;
+
+import com.learning.authservice.model.User;
+import com.learning.authservice.security.JwtUtils;
+import com.learning.authservice.security.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the request principal, from a loaded user and from signed token claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDetailsBenchmark {
+
+    private User user;
+
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        user = new User("benchmark", "password", "benchmark@example.com", "ROLE_USER");
+        user.setId(1L);
+
+        JwtUtils jwtUtils = JwtUtilsBenchmark.newJwtUtils();
+        claims = jwtUtils.getClaimsFromJwtToken(jwtUtils.generateJwtToken(UserDetailsImpl.build(user), null));
+    }
+
+    @Benchmark
+    public UserDetailsImpl buildFromUser() {
+        return UserDetailsImpl.build(user);
+    }
+
+    @Benchmark
+    public UserDetailsImpl buildFromClaims() {
+        return UserDetailsImpl.build(claims);
+    }
+}
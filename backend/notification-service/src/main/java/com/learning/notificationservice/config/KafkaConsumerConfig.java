@@ -1,8 +1,12 @@
 package com.learning.notificationservice.config;
 
-import com.learning.notificationservice.event.TaskEvent;
+import com.learning.events.TaskEvent;
+import com.learning.events.TaskEventDeserializer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,8 +14,8 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -26,6 +30,9 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
     @Bean
     public ConsumerFactory<String, TaskEvent> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -37,12 +44,31 @@ public class KafkaConsumerConfig {
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         props.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
-        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        // Task events use the shared Avro format; no Java types are resolved from the payload
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, TaskEventDeserializer.class);
+
+        DefaultKafkaConsumerFactory<String, TaskEvent> factory = new DefaultKafkaConsumerFactory<>(props);
+
+        // Client metrics, including records-lag-max per partition
+        if (meterRegistry != null) {
+            factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        }
+
+        return factory;
+    }
 
-        // JSON deserializer config - CRITICAL SETTINGS
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false); // Ignore type headers
-        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, TaskEvent.class.getName());
+    /**
+     * Reads dead letters as raw bytes for replay; offsets are committed only after a record was republished.
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> deadLetterConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId + "-dlt-replay");
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
 
         return new DefaultKafkaConsumerFactory<>(props);
     }
@@ -52,6 +78,8 @@ public class KafkaConsumerConfig {
         ConcurrentKafkaListenerContainerFactory<String, TaskEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        // Continues the producer's trace from the traceparent header
+        factory.getContainerProperties().setObservationEnabled(true);
         return factory;
     }
 }
\ No newline at end of file
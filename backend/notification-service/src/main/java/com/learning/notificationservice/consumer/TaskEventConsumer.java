@@ -1,23 +1,253 @@
 package com.learning.notificationservice.consumer;
 
-import com.learning.notificationservice.event.TaskEvent;
+import com.learning.events.TaskEvent;
+import com.learning.events.TaskEventHeaders;
+import com.learning.notificationservice.dedup.ProcessedEventStore;
+import com.learning.notificationservice.dispatch.Notification;
+import com.learning.notificationservice.dispatch.NotificationDispatcher;
+import com.learning.notificationservice.dispatch.UpdateDigester;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Turns task events into notifications. Events from the main topic are only queued on the
+ * channels and their offsets move on; an event is marked processed once every channel accepted
+ * its notifications, and sent to the first retry topic if a channel gave up on them or the
+ * service shut down first. A retried event only goes to the channels that have not delivered it
+ * yet. Events on the retry topics wait for the channels, so a failure there
+ * moves on through the retry topics to the dead-letter topic. Events still queued when the
+ * process dies are lost.
+ */
 @Service
 public class TaskEventConsumer {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskEventConsumer.class);
 
+    // First topic of the SUFFIX_WITH_INDEX_VALUE chain; the attempt header continues its count
+    private static final String FIRST_RETRY_SUFFIX = "-retry-0";
+
+    private static final int FIRST_RETRY_ATTEMPT = 2;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ProcessedEventStore processedEvents;
+
+    private final NotificationDispatcher dispatcher;
+
+    private final UpdateDigester updateDigester;
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final String retryTopic;
+
+    private final List<String> recipients;
+
+    private final Duration retryAcceptTimeout;
+
+    private final Counter duplicates;
+
+    private final Counter retried;
+
+    private final Counter deadLettered;
+
+    private final Counter redelivered;
+
+    public TaskEventConsumer(MeterRegistry meterRegistry, ProcessedEventStore processedEvents,
+                             NotificationDispatcher dispatcher, UpdateDigester updateDigester,
+                             KafkaTemplate<String, Object> kafkaTemplate,
+                             @Value("${kafka.topic.task-events}") String taskEventsTopic,
+                             @Value("${notification.recipients:}") List<String> recipients,
+                             @Value("${notification.retry.accept-timeout:60s}") Duration retryAcceptTimeout) {
+        this.meterRegistry = meterRegistry;
+        this.processedEvents = processedEvents;
+        this.dispatcher = dispatcher;
+        this.updateDigester = updateDigester;
+        this.kafkaTemplate = kafkaTemplate;
+        this.retryTopic = taskEventsTopic + FIRST_RETRY_SUFFIX;
+        this.recipients = recipients;
+        this.retryAcceptTimeout = retryAcceptTimeout;
+        this.duplicates = Counter.builder("notification.events.duplicates")
+                .description("Redelivered task events that were skipped")
+                .register(meterRegistry);
+        this.retried = Counter.builder("notification.events.retried")
+                .description("Task events consumed again from a retry topic")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("notification.events.dead_lettered")
+                .description("Task events that exhausted their retries")
+                .register(meterRegistry);
+        this.redelivered = Counter.builder("notification.events.redelivered")
+                .description("Task events sent to the retry topic after a channel gave up on them")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Failed events move to retry topics with exponential back-off instead of blocking their
+     * partition, and end up on {@code <topic>-dlt} once the attempts are exhausted. Records that
+     * cannot be deserialized go to the dead-letter topic straight away.
+     */
+    @RetryableTopic(
+            attempts = "${notification.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${notification.retry.delay-ms:1000}",
+                    multiplierExpression = "${notification.retry.multiplier:2.0}",
+                    maxDelayExpression = "${notification.retry.max-delay-ms:30000}"),
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            dltStrategy = DltStrategy.FAIL_ON_ERROR,
+            numPartitions = "3",
+            replicationFactor = "1",
+            kafkaTemplate = "kafkaTemplate"
+    )
     @KafkaListener(
             topics = "${kafka.topic.task-events}",
             groupId = "${spring.kafka.consumer.group-id}"
     )
-    public void consumeTaskEvent(TaskEvent event) {
+    public void onTaskEvent(ConsumerRecord<String, TaskEvent> record) {
+        long consumedAt = System.currentTimeMillis();
+        boolean retry = record.headers().lastHeader(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS) != null;
+        TaskEvent event = record.value();
+        try {
+            if (retry) {
+                retried.increment();
+                awaitAccepted(consumeTaskEvent(event, false));
+            } else {
+                consumeTaskEvent(event).whenComplete((ignored, failure) -> {
+                    if (failure != null) {
+                        redeliver(record, failure);
+                    }
+                });
+            }
+        } finally {
+            recordDeliveryLatency(record.headers(), event.getEventType(), consumedAt, System.currentTimeMillis());
+        }
+    }
+
+    @DltHandler
+    public void onDeadLetter(ConsumerRecord<String, TaskEvent> record) {
+        deadLettered.increment();
+        String eventId = record.value() == null ? null : record.value().getEventId();
+        Header error = record.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE);
+        logger.error("Task event {} for task {} moved to {} after retries: {}",
+                eventId, record.key(), record.topic(),
+                error == null ? null : new String(error.value(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Queues the event's notifications and returns a future that completes once every channel
+     * accepted them; the event is marked processed at that point. Throws if a channel queue is full.
+     */
+    public CompletableFuture<Void> consumeTaskEvent(TaskEvent event) {
+        return consumeTaskEvent(event, true);
+    }
+
+    /**
+     * Hands the remaining digests and queued notifications to the channels while the Kafka
+     * producer is still open, so events the channels fail on are sent to the retry topic.
+     */
+    @PreDestroy
+    public void drain() {
+        updateDigester.close();
+        dispatcher.shutdown();
+    }
+
+    private CompletableFuture<Void> consumeTaskEvent(TaskEvent event, boolean digestUpdates) {
+        // Events from producers without event ids cannot be deduplicated
+        String eventId = event.getEventId();
+        if (eventId != null && processedEvents.isProcessed(eventId)) {
+            logger.info("Skipping already processed event {} for task {}", eventId, event.getTaskId());
+            duplicates.increment();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            CompletableFuture<Void> accepted = processTaskEvent(event, digestUpdates);
+            if (eventId != null) {
+                accepted = accepted.thenRun(() -> processedEvents.markProcessed(eventId));
+            }
+            return accepted;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("notification.events.processed")
+                    .description("Time spent handling one task event")
+                    .tag("event.type", String.valueOf(event.getEventType()))
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Waits for the channels to accept a retried event, so failures reach the retry topic chain.
+     */
+    private void awaitAccepted(CompletableFuture<Void> accepted) {
+        try {
+            accepted.get(retryAcceptTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Channels did not accept the notifications within " + retryAcceptTimeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the channels", e);
+        }
+    }
+
+    /**
+     * Sends an event whose notifications were not accepted to the first retry topic, as if its
+     * first attempt had failed in the listener.
+     */
+    private void redeliver(ConsumerRecord<String, TaskEvent> record, Throwable failure) {
+        logger.warn("Sending task event {} to {}: {}", record.value().getEventId(), retryTopic, failure.getMessage());
+        ProducerRecord<String, Object> retry = new ProducerRecord<>(retryTopic, record.key(), record.value());
+        record.headers().forEach(retry.headers()::add);
+        retry.headers().add(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS,
+                ByteBuffer.allocate(Integer.BYTES).putInt(FIRST_RETRY_ATTEMPT).array());
+
+        kafkaTemplate.send(retry).whenComplete((result, e) -> {
+            if (e == null) {
+                redelivered.increment();
+            } else {
+                logger.error("Could not send task event {} to {}, it is lost",
+                        record.value().getEventId(), retryTopic, e);
+            }
+        });
+    }
+
+    private CompletableFuture<Void> processTaskEvent(TaskEvent event, boolean digestUpdates) {
         logger.info("========================================");
         logger.info("📬 Received Task Event!");
+        logger.info("Event ID: {}", event.getEventId());
         logger.info("Event Type: {}", event.getEventType());
         logger.info("Task ID: {}", event.getTaskId());
         logger.info("Title: {}", event.getTitle());
@@ -25,42 +255,98 @@ public class TaskEventConsumer {
         logger.info("Timestamp: {}", event.getTimestamp());
         logger.info("========================================");
 
-        // Here you can add your notification logic:
-        // - Send email
-        // - Send push notification
-        // - Update analytics
-        // - Trigger other services
-
         switch (event.getEventType()) {
             case "CREATED":
-                handleTaskCreated(event);
-                break;
+                return handleTaskCreated(event);
             case "UPDATED":
-                handleTaskUpdated(event);
-                break;
+                return handleTaskUpdated(event, digestUpdates);
             case "DELETED":
-                handleTaskDeleted(event);
-                break;
+                return handleTaskDeleted(event);
             default:
                 logger.warn("Unknown event type: {}", event.getEventType());
+                return CompletableFuture.completedFuture(null);
         }
     }
 
-    private void handleTaskCreated(TaskEvent event) {
+    // Notifications are only queued here; a full channel queue throws and sends the event to a retry topic
+    private CompletableFuture<Void> handleTaskCreated(TaskEvent event) {
         logger.info("✅ Processing CREATED event for task: {}", event.getTitle());
-        // TODO: Send "New task created" notification
-        // Example: emailService.sendTaskCreatedEmail(event);
+        return dispatcher.dispatch(recipients.stream()
+                .map(recipient -> new Notification(recipient, event.getTaskId(),
+                        "New task: " + event.getTitle(),
+                        "Task \"" + event.getTitle() + "\" was created with status " + event.getStatus() + "."))
+                .toList(), eventIds(event));
     }
 
-    private void handleTaskUpdated(TaskEvent event) {
+    // Retried updates skip the digest window and go out on their own
+    private CompletableFuture<Void> handleTaskUpdated(TaskEvent event, boolean digestUpdates) {
         logger.info("🔄 Processing UPDATED event for task: {}", event.getTitle());
-        // TODO: Send "Task updated" notification
-        // Example: emailService.sendTaskUpdatedEmail(event);
+        if (!digestUpdates) {
+            return dispatcher.dispatch(recipients.stream()
+                    .map(recipient -> UpdateDigester.toNotification(recipient, List.of(event)))
+                    .toList(), eventIds(event));
+        }
+        return CompletableFuture.allOf(recipients.stream()
+                .map(recipient -> updateDigester.add(recipient, event))
+                .toArray(CompletableFuture[]::new));
     }
 
-    private void handleTaskDeleted(TaskEvent event) {
+    private CompletableFuture<Void> handleTaskDeleted(TaskEvent event) {
         logger.info("🗑️ Processing DELETED event for task: {}", event.getTitle());
-        // TODO: Send "Task deleted" notification
-        // Example: emailService.sendTaskDeletedEmail(event);
+        return dispatcher.dispatch(recipients.stream()
+                .map(recipient -> new Notification(recipient, event.getTaskId(),
+                        "Task deleted: " + event.getTitle(),
+                        "Task \"" + event.getTitle() + "\" was deleted."))
+                .toList(), eventIds(event));
+    }
+
+    private static List<String> eventIds(TaskEvent event) {
+        return event.getEventId() == null ? List.of() : List.of(event.getEventId());
+    }
+
+    /**
+     * Splits the delivery latency into the stages stamped by task-service and this consumer:
+     * transaction (raise to commit), commit_to_publish, publish_to_consume (producer batching,
+     * broker and consumer lag), handle and end_to_end (commit to handled). Events from producers
+     * that predate the headers only record the handle stage.
+     */
+    void recordDeliveryLatency(Headers headers, String eventType, long consumedAt, long handledAt) {
+        Long createdAt = epochMillis(headers, TaskEventHeaders.CREATED_AT);
+        Long committedAt = epochMillis(headers, TaskEventHeaders.COMMITTED_AT);
+        Long publishedAt = epochMillis(headers, TaskEventHeaders.PUBLISHED_AT);
+
+        recordStage("transaction", eventType, createdAt, committedAt);
+        recordStage("commit_to_publish", eventType, committedAt, publishedAt);
+        recordStage("publish_to_consume", eventType, publishedAt, consumedAt);
+        recordStage("handle", eventType, consumedAt, handledAt);
+        recordStage("end_to_end", eventType, committedAt, handledAt);
+    }
+
+    private void recordStage(String stage, String eventType, Long from, Long to) {
+        if (from == null || to == null) {
+            return;
+        }
+
+        // Clocks of the two services may drift apart; never record a negative duration
+        Timer.builder("task.events.latency")
+                .description("Task event delivery latency by stage")
+                .tag("stage", stage)
+                .tag("event.type", String.valueOf(eventType))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofMillis(Math.max(0, to - from)));
+    }
+
+    private static Long epochMillis(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        if (header == null || header.value() == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(new String(header.value(), StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed {} header", name);
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.learning.notificationservice.controller;
+
+import com.learning.notificationservice.service.DeadLetterReplayService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+@RestController
+@RequestMapping("/api/notifications/dlt")
+public class DeadLetterController {
+
+    private final DeadLetterReplayService replayService;
+
+    public DeadLetterController(DeadLetterReplayService replayService) {
+        this.replayService = replayService;
+    }
+
+    /**
+     * Replay dead-lettered task events onto the main topic
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Integer>> replay(@RequestParam(defaultValue = "100") int max)
+            throws ExecutionException, InterruptedException {
+        if (max < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(Map.of("replayed", replayService.replay(max)));
+    }
+}
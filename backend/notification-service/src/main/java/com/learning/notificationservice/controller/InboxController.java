@@ -0,0 +1,61 @@
+package com.learning.notificationservice.controller;
+
+import com.learning.notificationservice.model.InboxNotification;
+import com.learning.notificationservice.service.InboxService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications/inbox/{recipient}")
+public class InboxController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_MARK_READ_IDS = 1000;
+
+    private final InboxService inboxService;
+
+    public InboxController(InboxService inboxService) {
+        this.inboxService = inboxService;
+    }
+
+    /**
+     * Newest notifications first; pass the returned {@code nextBefore} as {@code before} for the next page.
+     */
+    @GetMapping
+    public ResponseEntity<InboxPage> getInbox(@PathVariable String recipient,
+                                              @RequestParam(required = false) Long before,
+                                              @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<InboxNotification> items = inboxService.page(recipient, before, limit);
+        Long nextBefore = items.size() < limit ? null : items.get(items.size() - 1).getId();
+        return ResponseEntity.ok(new InboxPage(items, nextBefore));
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@PathVariable String recipient) {
+        return ResponseEntity.ok(Map.of("unread", inboxService.unreadCount(recipient)));
+    }
+
+    @PostMapping("/read")
+    public ResponseEntity<Map<String, Integer>> markRead(@PathVariable String recipient,
+                                                         @RequestBody List<Long> ids) {
+        if (ids.size() > MAX_MARK_READ_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(Map.of("marked", inboxService.markRead(recipient, ids)));
+    }
+
+    @PostMapping("/read-all")
+    public ResponseEntity<Map<String, Integer>> markAllRead(@PathVariable String recipient) {
+        return ResponseEntity.ok(Map.of("marked", inboxService.markAllRead(recipient)));
+    }
+
+    public record InboxPage(List<InboxNotification> items, Long nextBefore) {
+    }
+}
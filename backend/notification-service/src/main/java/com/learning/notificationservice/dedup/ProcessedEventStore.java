@@ -0,0 +1,210 @@
+package com.learning.notificationservice.dedup;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ids of recently handled task events, so redelivered events are skipped, and of the events each
+ * channel already delivered, so a retried event skips those channels. Entries live in a
+ * bounded in-memory map for the dedup window, and every id is appended to a local log file
+ * ({@code <epochMillis> <eventId>} per line) that is replayed on startup. The log is rewritten
+ * with only the live entries whenever it grows to twice their number.
+ */
+@Component
+public class ProcessedEventStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessedEventStore.class);
+
+    private static final int MIN_COMPACTION_SIZE = 1000;
+
+    private final Path logPath;
+
+    private final long windowMs;
+
+    private final int maxEntries;
+
+    private final Clock clock;
+
+    // Insertion order equals processing order, so the eldest entries expire first
+    private final LinkedHashMap<String, Long> processed = new LinkedHashMap<>();
+
+    private BufferedWriter writer;
+
+    private int loggedEntries;
+
+    @Autowired
+    public ProcessedEventStore(@Value("${notification.dedup.log-path:data/processed-events.log}") Path logPath,
+                               @Value("${notification.dedup.window:24h}") Duration window,
+                               @Value("${notification.dedup.max-entries:100000}") int maxEntries) {
+        this(logPath, window, maxEntries, Clock.systemUTC());
+    }
+
+    ProcessedEventStore(Path logPath, Duration window, int maxEntries, Clock clock) {
+        this.logPath = logPath;
+        this.windowMs = window.toMillis();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        load();
+    }
+
+    public synchronized boolean isProcessed(String eventId) {
+        Long processedAt = processed.get(eventId);
+        return processedAt != null && processedAt > clock.millis() - windowMs;
+    }
+
+    /**
+     * Records a handled event; call only after handling succeeded so failed events are retried.
+     */
+    public synchronized void markProcessed(String eventId) {
+        long now = clock.millis();
+        processed.remove(eventId);
+        processed.put(eventId, now);
+        evict(now);
+
+        append(now, eventId);
+        if (loggedEntries > Math.max(MIN_COMPACTION_SIZE, 2 * processed.size())) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns true if the channel already delivered the event's notifications within the dedup window.
+     */
+    public boolean isDelivered(String eventId, String channel) {
+        return isProcessed(deliveryKey(eventId, channel));
+    }
+
+    /**
+     * Records that the channel delivered the event's notifications, while other channels may still retry them.
+     */
+    public void markDelivered(String eventId, String channel) {
+        markProcessed(deliveryKey(eventId, channel));
+    }
+
+    public synchronized int size() {
+        return processed.size();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.warn("Could not close processed event log {}", logPath, e);
+        }
+        writer = null;
+    }
+
+    private static String deliveryKey(String eventId, String channel) {
+        return eventId + "@" + channel;
+    }
+
+    private void load() {
+        long now = clock.millis();
+        if (Files.exists(logPath)) {
+            try (BufferedReader reader = Files.newBufferedReader(logPath, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    readEntry(line, now);
+                }
+            } catch (IOException e) {
+                logger.error("Could not read processed event log {}, starting empty", logPath, e);
+                processed.clear();
+            }
+        }
+        evict(now);
+        logger.info("Loaded {} processed event ids from {}", processed.size(), logPath);
+
+        compact();
+    }
+
+    private void readEntry(String line, long now) {
+        int separator = line.indexOf(' ');
+        if (separator <= 0 || separator == line.length() - 1) {
+            // A torn last line after a crash
+            return;
+        }
+        try {
+            long processedAt = Long.parseLong(line.substring(0, separator));
+            if (processedAt > now - windowMs) {
+                String eventId = line.substring(separator + 1);
+                processed.remove(eventId);
+                processed.put(eventId, processedAt);
+            }
+        } catch (NumberFormatException e) {
+            logger.debug("Skipping malformed processed event log line: {}", line);
+        }
+    }
+
+    private void evict(long now) {
+        Iterator<Map.Entry<String, Long>> eldest = processed.entrySet().iterator();
+        while (eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (processed.size() <= maxEntries && entry.getValue() > now - windowMs) {
+                break;
+            }
+            eldest.remove();
+        }
+    }
+
+    private void append(long processedAt, String eventId) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(processedAt + " " + eventId);
+            writer.newLine();
+            // Flushed to the OS on every event: survives a process crash, not a power loss
+            writer.flush();
+            loggedEntries++;
+        } catch (IOException e) {
+            logger.warn("Could not append to processed event log {}; dedup continues in memory only", logPath, e);
+        }
+    }
+
+    /**
+     * Rewrites the log with only the live entries and reopens it for appending.
+     */
+    private void compact() {
+        close();
+        try {
+            Path parent = logPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path compacted = Files.createTempFile(parent, logPath.getFileName().toString(), ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Long> entry : processed.entrySet()) {
+                    out.write(entry.getValue() + " " + entry.getKey());
+                    out.newLine();
+                }
+            }
+            Files.move(compacted, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            loggedEntries = processed.size();
+
+            writer = Files.newBufferedWriter(logPath, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warn("Could not rewrite processed event log {}; dedup continues in memory only", logPath, e);
+        }
+    }
+}
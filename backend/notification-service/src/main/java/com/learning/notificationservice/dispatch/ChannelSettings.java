@@ -0,0 +1,27 @@
+package com.learning.notificationservice.dispatch;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Per-channel limits, read from {@code notification.channels.<name>.*}. A failed batch is sent
+ * up to {@code max-attempts} times, waiting {@code retry-backoff} before the first retry and
+ * twice as long before each further one.
+ */
+public record ChannelSettings(double ratePerSecond, int burst, int batchSize, int queueCapacity, int threads,
+                              int maxAttempts, Duration retryBackoff) {
+
+    public static ChannelSettings of(Environment environment, String channel) {
+        String prefix = "notification.channels." + channel + ".";
+        return new ChannelSettings(
+                environment.getProperty(prefix + "rate-per-second", Double.class, 10.0),
+                environment.getProperty(prefix + "burst", Integer.class, 20),
+                environment.getProperty(prefix + "batch-size", Integer.class, 20),
+                environment.getProperty(prefix + "queue-capacity", Integer.class, 1000),
+                environment.getProperty(prefix + "threads", Integer.class, 1),
+                environment.getProperty(prefix + "max-attempts", Integer.class, 3),
+                DurationStyle.detectAndParse(environment.getProperty(prefix + "retry-backoff", "1s")));
+    }
+}
@@ -0,0 +1,227 @@
+package com.learning.notificationservice.dispatch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded queue and worker threads of one channel. Workers drain the queue in batches of up to
+ * {@code batchSize}, wait for the channel's token bucket and hand each batch to the channel, so
+ * a slow channel only backs up its own queue. A failed batch is retried with exponential
+ * back-off; the future of each notification completes once the channel accepted it, or
+ * exceptionally when the retries ran out or the worker shut down first.
+ */
+class ChannelWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChannelWorker.class);
+
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    private final NotificationChannel channel;
+
+    private final int batchSize;
+
+    private final int threads;
+
+    private final int maxAttempts;
+
+    private final long retryBackoffMs;
+
+    private final BlockingQueue<Delivery> queue;
+
+    private final TokenBucket rateLimiter;
+
+    private final ExecutorService executor;
+
+    private final Counter delivered;
+
+    private final Counter failed;
+
+    private final Counter rejected;
+
+    private final Timer sendTimer;
+
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean stopping;
+
+    ChannelWorker(NotificationChannel channel, ChannelSettings settings, MeterRegistry meterRegistry) {
+        this.channel = channel;
+        // A batch never needs more tokens than the bucket can hold
+        this.batchSize = Math.max(1, Math.min(settings.batchSize(), settings.burst()));
+        this.threads = Math.max(1, settings.threads());
+        this.maxAttempts = Math.max(1, settings.maxAttempts());
+        this.retryBackoffMs = settings.retryBackoff().toMillis();
+        this.queue = new ArrayBlockingQueue<>(settings.queueCapacity());
+        this.rateLimiter = new TokenBucket(settings.ratePerSecond(), settings.burst());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "notify-" + channel.name() + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        String name = channel.name();
+        Gauge.builder("notification.channel.queue.depth", queue, BlockingQueue::size)
+                .description("Notifications waiting for a channel worker")
+                .tag("channel", name)
+                .register(meterRegistry);
+        this.delivered = Counter.builder("notification.channel.sent")
+                .description("Notifications handed to a channel")
+                .tag("channel", name)
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failed = Counter.builder("notification.channel.sent")
+                .description("Notifications handed to a channel")
+                .tag("channel", name)
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("notification.channel.rejected")
+                .description("Notifications refused because the channel queue was full")
+                .tag("channel", name)
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("notification.channel.send")
+                .description("Time a channel spent delivering one batch")
+                .tag("channel", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("notification.channel.batch.size")
+                .description("Notifications per delivered batch")
+                .tag("channel", name)
+                .register(meterRegistry);
+    }
+
+    String channelName() {
+        return channel.name();
+    }
+
+    void start() {
+        for (int i = 0; i < threads; i++) {
+            executor.execute(this::run);
+        }
+    }
+
+    int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    int queueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Queues the notification without blocking and returns a future that completes once the
+     * channel accepted it; the future fails right away if the queue is full.
+     */
+    CompletableFuture<Void> offer(Notification notification) {
+        Delivery delivery = new Delivery(notification, new CompletableFuture<>());
+        if (stopping || !queue.offer(delivery)) {
+            recordRejected();
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Notification queue of channel " + channel.name() + " is full"));
+        }
+        return delivery.result();
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    /**
+     * Stops accepting notifications and gives the workers up to {@code timeout} to drain the queue.
+     * Notifications still queued after that are failed, so their events can be redelivered.
+     */
+    void shutdown(Duration timeout) {
+        stopping = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        List<Delivery> undelivered = new ArrayList<>();
+        queue.drainTo(undelivered);
+        if (!undelivered.isEmpty()) {
+            logger.warn("Failing {} undelivered {} notifications on shutdown", undelivered.size(), channel.name());
+            fail(undelivered, new RejectedExecutionException("Channel " + channel.name() + " shut down"));
+        }
+    }
+
+    private void run() {
+        List<Delivery> batch = new ArrayList<>(batchSize);
+        try {
+            while (!stopping || !queue.isEmpty()) {
+                Delivery first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                rateLimiter.acquire(batch.size());
+                deliver(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            fail(batch, new RejectedExecutionException("Channel " + channel.name() + " shut down", e));
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliver(List<Delivery> batch) throws InterruptedException {
+        List<Notification> notifications = batch.stream().map(Delivery::notification).toList();
+        long backoffMs = retryBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            Timer.Sample sample = Timer.start();
+            try {
+                channel.send(notifications);
+                delivered.increment(batch.size());
+                batch.forEach(delivery -> delivery.result().complete(null));
+                return;
+            } catch (RuntimeException e) {
+                failed.increment(batch.size());
+                // While shutting down the batch is handed back at once instead of holding up the drain
+                if (attempt >= maxAttempts || stopping) {
+                    logger.warn("Giving up on {} notifications via {} after {} attempts",
+                            batch.size(), channel.name(), attempt, e);
+                    fail(batch, e);
+                    return;
+                }
+                logger.warn("Could not deliver {} notifications via {}, retrying in {} ms: {}",
+                        batch.size(), channel.name(), backoffMs, e.getMessage());
+            } finally {
+                sample.stop(sendTimer);
+                batchSizes.record(batch.size());
+            }
+            Thread.sleep(backoffMs);
+            backoffMs *= 2;
+        }
+    }
+
+    private static void fail(List<Delivery> deliveries, Throwable cause) {
+        deliveries.forEach(delivery -> delivery.result().completeExceptionally(cause));
+    }
+
+    private record Delivery(Notification notification, CompletableFuture<Void> result) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.learning.notificationservice.dispatch;
+
+import com.learning.notificationservice.service.InboxService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Stores notifications in the recipients' in-app inbox; a batch is one transaction with
+ * batched inserts.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.channels.inbox.enabled", havingValue = "true", matchIfMissing = true)
+public class InAppNotificationChannel implements NotificationChannel {
+
+    private final InboxService inboxService;
+
+    public InAppNotificationChannel(InboxService inboxService) {
+        this.inboxService = inboxService;
+    }
+
+    @Override
+    public String name() {
+        return "inbox";
+    }
+
+    @Override
+    public void send(List<Notification> batch) {
+        try {
+            inboxService.store(batch);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created one of the recipients' counters first
+            inboxService.store(batch);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.learning.notificationservice.dispatch;
+
+/**
+ * One message for one recipient, rendered once and delivered through every enabled channel.
+ */
+public record Notification(String recipient, Long taskId, String subject, String body) {
+}
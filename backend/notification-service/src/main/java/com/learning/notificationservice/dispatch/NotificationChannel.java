@@ -0,0 +1,21 @@
+package com.learning.notificationservice.dispatch;
+
+import java.util.List;
+
+/**
+ * A way of delivering notifications. Each channel gets its own queue, worker threads and rate
+ * limit from {@link NotificationDispatcher}, and is handed whole batches so it can deliver them
+ * with one connection, request or insert.
+ */
+public interface NotificationChannel {
+
+    /**
+     * Key of this channel's settings under {@code notification.channels}.
+     */
+    String name();
+
+    /**
+     * Delivers the batch, throwing if it could not be delivered.
+     */
+    void send(List<Notification> batch);
+}
@@ -0,0 +1,102 @@
+package com.learning.notificationservice.dispatch;
+
+import com.learning.notificationservice.dedup.ProcessedEventStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Fans notifications out to every enabled {@link NotificationChannel}. Dispatching only queues
+ * the notification on each channel's bounded queue, so the Kafka listener never waits for a
+ * mail server or webhook; the returned future tells when every channel accepted it. Deliveries
+ * made for task events are recorded per channel, so retrying an event only reaches the channels
+ * that failed it.
+ */
+@Service
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final List<ChannelWorker> workers;
+
+    private final ProcessedEventStore deliveries;
+
+    public NotificationDispatcher(List<NotificationChannel> channels, Environment environment,
+                                  MeterRegistry meterRegistry, ProcessedEventStore deliveries) {
+        this.deliveries = deliveries;
+        this.workers = channels.stream()
+                .map(channel -> new ChannelWorker(channel, ChannelSettings.of(environment, channel.name()), meterRegistry))
+                .toList();
+        workers.forEach(ChannelWorker::start);
+        logger.info("Dispatching notifications via {}", workers.stream().map(ChannelWorker::channelName).toList());
+    }
+
+    public CompletableFuture<Void> dispatch(Notification notification) {
+        return dispatch(List.of(notification));
+    }
+
+    public CompletableFuture<Void> dispatch(List<Notification> notifications) {
+        return dispatch(notifications, List.of());
+    }
+
+    /**
+     * Queues the notifications of the given task events on every channel that has not delivered
+     * all of those events yet, or on none: if any of these channels' queues lacks room this throws
+     * {@link RejectedExecutionException}, so the events can be retried later without duplicating
+     * them on the channels that had room. Each channel that accepts the notifications records
+     * the events as delivered through it. The returned future completes once every channel
+     * settled, exceptionally if one of them gave up.
+     */
+    public CompletableFuture<Void> dispatch(List<Notification> notifications, Collection<String> eventIds) {
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        synchronized (this) {
+            List<ChannelWorker> pending = workers.stream()
+                    .filter(worker -> !deliveredAll(worker, eventIds))
+                    .toList();
+            // Only this block adds to the queues, so capacity seen here cannot shrink before the offers
+            for (ChannelWorker worker : pending) {
+                if (worker.remainingCapacity() < notifications.size()) {
+                    worker.recordRejected();
+                    throw new RejectedExecutionException("Notification queue of channel " + worker.channelName() + " is full");
+                }
+            }
+            for (ChannelWorker worker : pending) {
+                CompletableFuture<Void> accepted = CompletableFuture.allOf(notifications.stream()
+                        .map(worker::offer)
+                        .toArray(CompletableFuture[]::new));
+                results.add(accepted.thenRun(() ->
+                        eventIds.forEach(eventId -> deliveries.markDelivered(eventId, worker.channelName()))));
+            }
+        }
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new));
+    }
+
+    public int queueDepth(String channel) {
+        return workers.stream()
+                .filter(worker -> worker.channelName().equals(channel))
+                .mapToInt(ChannelWorker::queueDepth)
+                .sum();
+    }
+
+    private boolean deliveredAll(ChannelWorker worker, Collection<String> eventIds) {
+        return !eventIds.isEmpty()
+                && eventIds.stream().allMatch(eventId -> deliveries.isDelivered(eventId, worker.channelName()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.forEach(worker -> worker.shutdown(SHUTDOWN_TIMEOUT));
+    }
+}
@@ -0,0 +1,57 @@
+package com.learning.notificationservice.dispatch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sends notifications as plain-text mails; a batch is delivered over one SMTP connection.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.channels.smtp.enabled", havingValue = "true", matchIfMissing = true)
+public class SmtpNotificationChannel implements NotificationChannel {
+
+    private final JavaMailSender mailSender;
+
+    private final String from;
+
+    private final String recipientDomain;
+
+    public SmtpNotificationChannel(JavaMailSender mailSender,
+                                   @Value("${notification.channels.smtp.from:notifications@taskmanagement.local}") String from,
+                                   @Value("${notification.channels.smtp.recipient-domain:taskmanagement.local}") String recipientDomain) {
+        this.mailSender = mailSender;
+        this.from = from;
+        this.recipientDomain = recipientDomain;
+    }
+
+    @Override
+    public String name() {
+        return "smtp";
+    }
+
+    @Override
+    public void send(List<Notification> batch) {
+        SimpleMailMessage[] messages = batch.stream()
+                .map(this::toMessage)
+                .toArray(SimpleMailMessage[]::new);
+        mailSender.send(messages);
+    }
+
+    private SimpleMailMessage toMessage(Notification notification) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(address(notification.recipient()));
+        message.setSubject(notification.subject());
+        message.setText(notification.body());
+        return message;
+    }
+
+    private String address(String recipient) {
+        return recipient.contains("@") ? recipient : recipient + "@" + recipientDomain;
+    }
+}
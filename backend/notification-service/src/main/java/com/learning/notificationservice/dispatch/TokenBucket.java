@@ -0,0 +1,65 @@
+package com.learning.notificationservice.dispatch;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter: refills at {@code ratePerSecond} up to {@code burst} tokens.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+
+    private final double tokensPerNano;
+
+    private final LongSupplier nanoTime;
+
+    private double tokens;
+
+    private long refilledAt;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier nanoTime) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.capacity = burst;
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.nanoTime = nanoTime;
+        this.tokens = burst;
+        this.refilledAt = nanoTime.getAsLong();
+    }
+
+    /**
+     * Takes the permits if they are available and returns 0, otherwise returns the nanoseconds
+     * until they will be. Requests larger than the burst are capped at the burst.
+     */
+    public synchronized long tryAcquire(int permits) {
+        double needed = Math.min(permits, capacity);
+        refill();
+        if (tokens >= needed) {
+            tokens -= needed;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((needed - tokens) / tokensPerNano));
+    }
+
+    /**
+     * Blocks until the permits are available and takes them.
+     */
+    public void acquire(int permits) throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryAcquire(permits)) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private void refill() {
+        long now = nanoTime.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
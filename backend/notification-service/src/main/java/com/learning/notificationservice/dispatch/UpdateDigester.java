@@ -0,0 +1,172 @@
+package com.learning.notificationservice.dispatch;
+
+import com.learning.events.TaskEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces bursts of UPDATED events per recipient into one digest. The first update opens a
+ * digest that is dispatched when the window closes, or earlier once it covers
+ * {@code max-tasks} tasks; repeated updates of a task keep only the latest state. Each event's
+ * future completes once its digest was accepted by every channel, and every channel that accepted
+ * the digest counts as having delivered all events folded into it.
+ */
+@Component
+public class UpdateDigester {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpdateDigester.class);
+
+    private final NotificationDispatcher dispatcher;
+
+    private final long windowMs;
+
+    private final int maxTasks;
+
+    private final Counter coalesced;
+
+    private final Counter dropped;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notify-digest");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, PendingDigest> pending = new HashMap<>();
+
+    public UpdateDigester(NotificationDispatcher dispatcher,
+                          @Value("${notification.digest.window:30s}") Duration window,
+                          @Value("${notification.digest.max-tasks:50}") int maxTasks,
+                          MeterRegistry meterRegistry) {
+        this.dispatcher = dispatcher;
+        this.windowMs = window.toMillis();
+        this.maxTasks = maxTasks;
+        this.coalesced = Counter.builder("notification.digest.coalesced")
+                .description("UPDATED events folded into an already open digest")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("notification.digest.dropped")
+                .description("Digests that could not be dispatched because a channel queue was full")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<Void> add(String recipient, TaskEvent event) {
+        CompletableFuture<Void> delivered;
+        boolean full;
+        synchronized (this) {
+            PendingDigest digest = pending.get(recipient);
+            if (digest == null) {
+                digest = new PendingDigest(scheduler.schedule(() -> flush(recipient), windowMs, TimeUnit.MILLISECONDS));
+                pending.put(recipient, digest);
+            } else {
+                coalesced.increment();
+            }
+            digest.events.put(event.getTaskId(), event);
+            if (event.getEventId() != null) {
+                digest.eventIds.add(event.getEventId());
+            }
+            delivered = digest.delivered;
+            full = digest.events.size() >= maxTasks;
+        }
+        if (full) {
+            flush(recipient);
+        }
+        return delivered;
+    }
+
+    public synchronized int pendingRecipients() {
+        return pending.size();
+    }
+
+    /**
+     * Dispatches the recipient's open digest, if any.
+     */
+    void flush(String recipient) {
+        PendingDigest digest;
+        List<TaskEvent> events;
+        List<String> eventIds;
+        synchronized (this) {
+            digest = pending.remove(recipient);
+            if (digest == null) {
+                return;
+            }
+            digest.timer.cancel(false);
+            events = new ArrayList<>(digest.events.values());
+            eventIds = List.copyOf(digest.eventIds);
+        }
+
+        try {
+            dispatcher.dispatch(List.of(toNotification(recipient, events)), eventIds).whenComplete((ignored, failure) -> {
+                if (failure == null) {
+                    digest.delivered.complete(null);
+                } else {
+                    digest.delivered.completeExceptionally(failure);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Fails the events' futures, so the consumer hands them back for redelivery
+            dropped.increment();
+            logger.warn("Could not dispatch update digest of {} tasks for {}: {}", events.size(), recipient, e.getMessage());
+            digest.delivered.completeExceptionally(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+        List<String> recipients;
+        synchronized (this) {
+            recipients = new ArrayList<>(pending.keySet());
+        }
+        recipients.forEach(this::flush);
+    }
+
+    public static Notification toNotification(String recipient, List<TaskEvent> events) {
+        if (events.size() == 1) {
+            TaskEvent event = events.get(0);
+            return new Notification(recipient, event.getTaskId(),
+                    "Task updated: " + event.getTitle(),
+                    "Task \"" + event.getTitle() + "\" is now " + event.getStatus() + ".");
+        }
+
+        StringBuilder body = new StringBuilder(events.size() + " tasks were updated:\n");
+        for (TaskEvent event : events) {
+            body.append("- ").append(event.getTitle()).append(" (").append(event.getStatus()).append(")\n");
+        }
+        return new Notification(recipient, null, events.size() + " tasks updated", body.toString());
+    }
+
+    private static final class PendingDigest {
+
+        // Latest event per task, in the order the tasks were first updated
+        private final LinkedHashMap<Long, TaskEvent> events = new LinkedHashMap<>();
+
+        // Every event folded in, including those a later update of the same task replaced
+        private final List<String> eventIds = new ArrayList<>();
+
+        private final CompletableFuture<Void> delivered = new CompletableFuture<>();
+
+        private final ScheduledFuture<?> timer;
+
+        private PendingDigest(ScheduledFuture<?> timer) {
+            this.timer = timer;
+        }
+    }
+}
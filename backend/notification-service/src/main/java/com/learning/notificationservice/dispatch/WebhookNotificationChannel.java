@@ -0,0 +1,55 @@
+package com.learning.notificationservice.dispatch;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Posts each batch as one JSON array to the configured webhook.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.channels.webhook.enabled", havingValue = "true", matchIfMissing = true)
+public class WebhookNotificationChannel implements NotificationChannel {
+
+    private final RestClient restClient;
+
+    @Autowired
+    public WebhookNotificationChannel(RestClient.Builder restClientBuilder,
+                                      @Value("${notification.channels.webhook.url:http://localhost:8089/notifications}") String url,
+                                      @Value("${notification.channels.webhook.timeout:5s}") Duration timeout) {
+        this(restClientBuilder.baseUrl(url).requestFactory(requestFactory(timeout)).build());
+    }
+
+    WebhookNotificationChannel(RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void send(List<Notification> batch) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(batch)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private static SimpleClientHttpRequestFactory requestFactory(Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        // A hanging webhook must not hold the channel's worker forever
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        return requestFactory;
+    }
+}
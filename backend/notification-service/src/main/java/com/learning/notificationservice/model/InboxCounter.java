@@ -0,0 +1,44 @@
+package com.learning.notificationservice.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Unread notifications of one recipient, maintained together with the inbox rows so the
+ * badge count is a primary-key lookup instead of a {@code COUNT(*)} over the inbox.
+ */
+@Entity
+@Table(name = "inbox_counters")
+public class InboxCounter {
+
+    @Id
+    private String recipient;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    // Constructors
+    public InboxCounter() {
+    }
+
+    public InboxCounter(String recipient, long unreadCount) {
+        this.recipient = recipient;
+        this.unreadCount = unreadCount;
+    }
+
+    // Getters and Setters
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public long getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(long unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+}
@@ -0,0 +1,119 @@
+package com.learning.notificationservice.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "inbox_notifications",
+        indexes = @Index(name = "idx_inbox_recipient_id", columnList = "recipient, id"))
+public class InboxNotification {
+
+    public static final int SUBJECT_LENGTH = 255;
+
+    public static final int BODY_LENGTH = 4000;
+
+    // Sequence ids with a pooled allocation let Hibernate batch the inserts of one channel batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inbox_notifications_seq")
+    @SequenceGenerator(name = "inbox_notifications_seq", sequenceName = "inbox_notifications_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    private Long taskId;
+
+    @Column(nullable = false, length = SUBJECT_LENGTH)
+    private String subject;
+
+    @Column(length = BODY_LENGTH)
+    private String body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+
+    // Constructors
+    public InboxNotification() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Cuts subject and body to their column lengths; digests and long task titles can exceed them.
+     */
+    public InboxNotification(String recipient, Long taskId, String subject, String body) {
+        this.recipient = recipient;
+        this.taskId = taskId;
+        this.subject = truncate(subject, SUBJECT_LENGTH);
+        this.body = truncate(body, BODY_LENGTH);
+        this.createdAt = LocalDateTime.now();
+    }
+
+    private static String truncate(String value, int length) {
+        if (value == null || value.length() <= length) {
+            return value;
+        }
+        // Never split a surrogate pair
+        int end = Character.isHighSurrogate(value.charAt(length - 2)) ? length - 2 : length - 1;
+        return value.substring(0, end) + "…";
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getReadAt() {
+        return readAt;
+    }
+
+    public void setReadAt(LocalDateTime readAt) {
+        this.readAt = readAt;
+    }
+}
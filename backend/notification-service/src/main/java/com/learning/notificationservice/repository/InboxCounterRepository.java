@@ -0,0 +1,18 @@
+package com.learning.notificationservice.repository;
+
+import com.learning.notificationservice.model.InboxCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InboxCounterRepository extends JpaRepository<InboxCounter, String> {
+
+    // Relative update, so concurrent writers never lose each other's changes; clears the
+    // persistence context so counters loaded earlier in the transaction are not stale
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InboxCounter c SET c.unreadCount = c.unreadCount + :delta WHERE c.recipient = :recipient")
+    int addUnread(@Param("recipient") String recipient, @Param("delta") long delta);
+}
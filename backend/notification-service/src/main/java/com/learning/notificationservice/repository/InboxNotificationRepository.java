@@ -0,0 +1,33 @@
+package com.learning.notificationservice.repository;
+
+import com.learning.notificationservice.model.InboxNotification;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InboxNotificationRepository extends JpaRepository<InboxNotification, Long> {
+
+    // Keyset pages over the (recipient, id) index: newest first, continuing below the last id seen
+    List<InboxNotification> findByRecipientOrderByIdDesc(String recipient, Limit limit);
+
+    List<InboxNotification> findByRecipientAndIdLessThanOrderByIdDesc(String recipient, Long id, Limit limit);
+
+    // Return the number of rows that changed from unread to read, which is what the counter drops by
+    @Modifying
+    @Query("UPDATE InboxNotification n SET n.readAt = :readAt "
+            + "WHERE n.recipient = :recipient AND n.id IN :ids AND n.readAt IS NULL")
+    int markRead(@Param("recipient") String recipient, @Param("ids") Collection<Long> ids,
+                 @Param("readAt") LocalDateTime readAt);
+
+    @Modifying
+    @Query("UPDATE InboxNotification n SET n.readAt = :readAt WHERE n.recipient = :recipient AND n.readAt IS NULL")
+    int markAllRead(@Param("recipient") String recipient, @Param("readAt") LocalDateTime readAt);
+}
@@ -0,0 +1,135 @@
+package com.learning.notificationservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Moves dead-lettered task events back onto the main topic, e.g. after the downstream that
+ * failed them recovered. Records are copied as raw bytes with their original key; retry and
+ * exception headers are dropped so each replayed event gets a fresh set of attempts.
+ */
+@Service
+public class DeadLetterReplayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterReplayService.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    // Gives up when the end of the snapshot cannot be reached, e.g. while the brokers are down
+    private static final Duration MAX_IDLE = Duration.ofSeconds(30);
+
+    // Prefix of the RetryTopicHeaders attempt and back-off headers
+    private static final String RETRY_HEADER_PREFIX = "retry_topic-";
+
+    private final ConsumerFactory<String, byte[]> deadLetterConsumerFactory;
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final String taskEventsTopic;
+
+    private final String deadLetterTopic;
+
+    private final Counter replayed;
+
+    public DeadLetterReplayService(@Qualifier("deadLetterConsumerFactory") ConsumerFactory<String, byte[]> deadLetterConsumerFactory,
+                                   KafkaTemplate<String, Object> kafkaTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${kafka.topic.task-events}") String taskEventsTopic) {
+        this.deadLetterConsumerFactory = deadLetterConsumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.taskEventsTopic = taskEventsTopic;
+        this.deadLetterTopic = taskEventsTopic + "-dlt";
+        this.replayed = Counter.builder("notification.dlt.replayed")
+                .description("Dead-lettered task events republished to the main topic")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Republishes up to {@code maxRecords} dead letters, oldest first, and returns how many were replayed.
+     */
+    public synchronized int replay(int maxRecords) throws ExecutionException, InterruptedException {
+        int count = 0;
+
+        try (Consumer<String, byte[]> consumer = deadLetterConsumerFactory.createConsumer()) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(deadLetterTopic);
+            if (partitions == null || partitions.isEmpty()) {
+                return 0;
+            }
+            List<TopicPartition> topicPartitions = partitions.stream()
+                    .map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+                    .toList();
+            consumer.assign(topicPartitions);
+            // Only records already dead-lettered now; events that fail again after the replay
+            // land behind this snapshot and are left for the next one instead of looping
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(topicPartitions);
+            long idleSince = System.nanoTime();
+
+            // An empty poll only means no fetch completed in time, not that the snapshot was read
+            while (count < maxRecords && !reachedEnd(consumer, endOffsets)) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    if (System.nanoTime() - idleSince > MAX_IDLE.toNanos()) {
+                        logger.warn("Stopped replaying {} after {} without records", deadLetterTopic, MAX_IDLE);
+                        break;
+                    }
+                    continue;
+                }
+                idleSince = System.nanoTime();
+
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (count == maxRecords) {
+                        break;
+                    }
+                    if (record.offset() >= endOffsets.get(partition)) {
+                        continue;
+                    }
+                    kafkaTemplate.send(toMainTopic(record)).get();
+                    // Commit per record: a failed replay resumes exactly where it stopped
+                    consumer.commitSync(Map.of(partition, new OffsetAndMetadata(record.offset() + 1)));
+                    replayed.increment();
+                    count++;
+                }
+            }
+        }
+
+        logger.info("Replayed {} task events from {} to {}", count, deadLetterTopic, taskEventsTopic);
+        return count;
+    }
+
+    private static boolean reachedEnd(Consumer<String, byte[]> consumer, Map<TopicPartition, Long> endOffsets) {
+        return endOffsets.entrySet().stream()
+                .allMatch(end -> consumer.position(end.getKey()) >= end.getValue());
+    }
+
+    private ProducerRecord<String, Object> toMainTopic(ConsumerRecord<String, byte[]> record) {
+        ProducerRecord<String, Object> replay = new ProducerRecord<>(taskEventsTopic, record.key(), record.value());
+        for (Header header : record.headers()) {
+            if (!header.key().startsWith(KafkaHeaders.PREFIX) && !header.key().startsWith(RETRY_HEADER_PREFIX)) {
+                replay.headers().add(header);
+            }
+        }
+        return replay;
+    }
+}
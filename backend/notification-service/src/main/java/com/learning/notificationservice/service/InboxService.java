@@ -0,0 +1,97 @@
+package com.learning.notificationservice.service;
+
+import com.learning.notificationservice.dispatch.Notification;
+import com.learning.notificationservice.model.InboxCounter;
+import com.learning.notificationservice.model.InboxNotification;
+import com.learning.notificationservice.repository.InboxCounterRepository;
+import com.learning.notificationservice.repository.InboxNotificationRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user inbox. Every change to a row's read state adjusts the recipient's unread counter
+ * in the same transaction, by exactly the number of rows the statement changed.
+ */
+@Service
+public class InboxService {
+
+    private final InboxNotificationRepository inboxNotificationRepository;
+
+    private final InboxCounterRepository inboxCounterRepository;
+
+    public InboxService(InboxNotificationRepository inboxNotificationRepository,
+                        InboxCounterRepository inboxCounterRepository) {
+        this.inboxNotificationRepository = inboxNotificationRepository;
+        this.inboxCounterRepository = inboxCounterRepository;
+    }
+
+    /**
+     * Stores a batch of notifications and bumps each recipient's counter once. Two instances
+     * creating the same recipient's counter concurrently make one of them fail on the primary
+     * key; storing that batch again then takes the update path.
+     */
+    @Transactional
+    public void store(List<Notification> notifications) {
+        inboxNotificationRepository.saveAll(notifications.stream()
+                .map(notification -> new InboxNotification(notification.recipient(), notification.taskId(),
+                        notification.subject(), notification.body()))
+                .toList());
+
+        Map<String, Long> perRecipient = notifications.stream()
+                .collect(Collectors.groupingBy(Notification::recipient, Collectors.counting()));
+        perRecipient.forEach((recipient, count) -> {
+            if (inboxCounterRepository.addUnread(recipient, count) == 0) {
+                inboxCounterRepository.save(new InboxCounter(recipient, count));
+            }
+        });
+    }
+
+    /**
+     * Returns up to {@code limit} notifications, newest first, older than {@code before} if given.
+     */
+    @Transactional(readOnly = true)
+    public List<InboxNotification> page(String recipient, Long before, int limit) {
+        if (before == null) {
+            return inboxNotificationRepository.findByRecipientOrderByIdDesc(recipient, Limit.of(limit));
+        }
+        return inboxNotificationRepository.findByRecipientAndIdLessThanOrderByIdDesc(recipient, before, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public long unreadCount(String recipient) {
+        return inboxCounterRepository.findById(recipient)
+                .map(InboxCounter::getUnreadCount)
+                .orElse(0L);
+    }
+
+    /**
+     * Marks the given notifications read and returns how many were unread.
+     */
+    @Transactional
+    public int markRead(String recipient, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int changed = inboxNotificationRepository.markRead(recipient, ids, LocalDateTime.now());
+        if (changed > 0) {
+            inboxCounterRepository.addUnread(recipient, -changed);
+        }
+        return changed;
+    }
+
+    @Transactional
+    public int markAllRead(String recipient) {
+        int changed = inboxNotificationRepository.markAllRead(recipient, LocalDateTime.now());
+        if (changed > 0) {
+            inboxCounterRepository.addUnread(recipient, -changed);
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,23 @@
+-- Matches the schema Hibernate created with ddl-auto: update, so existing databases
+-- (baselined at version 0) run this script as a no-op.
+
+-- Increment equals the entity's allocationSize so ids can be handed out in blocks of 50
+CREATE SEQUENCE IF NOT EXISTS inbox_notifications_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS inbox_notifications (
+    id         BIGINT        NOT NULL PRIMARY KEY,
+    recipient  VARCHAR(255)  NOT NULL,
+    task_id    BIGINT,
+    subject    VARCHAR(255)  NOT NULL,
+    body       VARCHAR(4000),
+    created_at TIMESTAMP(6)  NOT NULL,
+    read_at    TIMESTAMP(6)
+);
+
+-- Keyset pages of one recipient's inbox
+CREATE INDEX IF NOT EXISTS idx_inbox_recipient_id ON inbox_notifications (recipient, id);
+
+CREATE TABLE IF NOT EXISTS inbox_counters (
+    recipient    VARCHAR(255) NOT NULL PRIMARY KEY,
+    unread_count BIGINT       NOT NULL
+);
@@ -1,7 +1,9 @@
 package com.learning.notificationservice.config;
 
-import com.learning.notificationservice.event.TaskEvent;
+import com.learning.events.TaskEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.junit.jupiter.api.Test;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
@@ -40,4 +42,29 @@ class KafkaConsumerConfigTest {
 
         assertThat(factory.getConsumerFactory()).isNotNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    void consumerFactory_registersMetricsListenerWhenRegistryPresent() {
+        KafkaConsumerConfig config = new KafkaConsumerConfig();
+        ReflectionTestUtils.setField(config, "bootstrapServers", "localhost:9092");
+        ReflectionTestUtils.setField(config, "groupId", "test-group");
+        ReflectionTestUtils.setField(config, "meterRegistry", new SimpleMeterRegistry());
+
+        ConsumerFactory<String, TaskEvent> factory = config.consumerFactory();
+
+        assertThat(factory.getListeners()).hasSize(1);
+    }
+
+    @Test
+    void deadLetterConsumerFactory_readsRawBytesWithManualCommits() {
+        KafkaConsumerConfig config = new KafkaConsumerConfig();
+        ReflectionTestUtils.setField(config, "bootstrapServers", "localhost:9092");
+        ReflectionTestUtils.setField(config, "groupId", "test-group");
+
+        Map<String, Object> props = config.deadLetterConsumerFactory().getConfigurationProperties();
+
+        assertThat(props.get(ConsumerConfig.GROUP_ID_CONFIG)).isEqualTo("test-group-dlt-replay");
+        assertThat(props.get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG)).isEqualTo(false);
+        assertThat(props.get(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG)).isEqualTo(ByteArrayDeserializer.class);
+    }
+}
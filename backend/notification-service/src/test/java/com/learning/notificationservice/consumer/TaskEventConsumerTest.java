@@ -1,15 +1,79 @@
 package com.learning.notificationservice.consumer;
 
-import com.learning.notificationservice.event.TaskEvent;
+import com.learning.events.TaskEvent;
+import com.learning.events.TaskEventHeaders;
+import com.learning.notificationservice.dedup.ProcessedEventStore;
+import com.learning.notificationservice.dispatch.Notification;
+import com.learning.notificationservice.dispatch.NotificationDispatcher;
+import com.learning.notificationservice.dispatch.UpdateDigester;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
+import org.springframework.kafka.support.SendResult;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 class TaskEventConsumerTest {
 
+    @TempDir
+    Path tempDir;
+
+    private ProcessedEventStore processedEvents;
+
+    private NotificationDispatcher dispatcher;
+
+    private UpdateDigester updateDigester;
+
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        processedEvents = new ProcessedEventStore(tempDir.resolve("processed-events.log"), Duration.ofHours(1), 1000);
+        dispatcher = mock(NotificationDispatcher.class);
+        updateDigester = mock(UpdateDigester.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        when(dispatcher.dispatch(anyList(), anyCollection())).thenReturn(CompletableFuture.completedFuture(null));
+        when(updateDigester.add(anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+    }
+
+    private TaskEventConsumer newConsumer(SimpleMeterRegistry meterRegistry) {
+        return new TaskEventConsumer(meterRegistry, processedEvents, dispatcher, updateDigester, kafkaTemplate,
+                "task-events", List.of("alice", "bob"), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        processedEvents.close();
+    }
+
     @Test
     void consumeTaskEvent_handlesCreatedUpdatedDeletedAndUnknown() {
-        TaskEventConsumer consumer = new TaskEventConsumer();
+        TaskEventConsumer consumer = newConsumer(new SimpleMeterRegistry());
 
         TaskEvent created = new TaskEvent(1L, "t1", "d1", "TODO", "CREATED");
         TaskEvent updated = new TaskEvent(2L, "t2", "d2", "IN_PROGRESS", "UPDATED");
@@ -21,4 +85,209 @@ class TaskEventConsumerTest {
         assertThatCode(() -> consumer.consumeTaskEvent(deleted)).doesNotThrowAnyException();
         assertThatCode(() -> consumer.consumeTaskEvent(unknown)).doesNotThrowAnyException();
     }
-}
\ No newline at end of file
+
+    @Test
+    void consumeTaskEvent_recordsProcessingTimePerEventType() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskEventConsumer consumer = newConsumer(meterRegistry);
+
+        consumer.consumeTaskEvent(new TaskEvent(1L, "t1", "d1", "TODO", "CREATED"));
+        consumer.consumeTaskEvent(new TaskEvent(2L, "t2", "d2", "TODO", "CREATED"));
+        consumer.consumeTaskEvent(new TaskEvent(3L, "t3", "d3", "DONE", "DELETED"));
+
+        assertThat(meterRegistry.get("notification.events.processed")
+                .tag("event.type", "CREATED").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("notification.events.processed")
+                .tag("event.type", "DELETED").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void onTaskEvent_recordsLatencyPerStageFromHeaders() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskEventConsumer consumer = newConsumer(meterRegistry);
+
+        ConsumerRecord<String, TaskEvent> record = new ConsumerRecord<>("task-events", 0, 0L, "1",
+                new TaskEvent(1L, "t1", "d1", "TODO", "CREATED"));
+        long now = System.currentTimeMillis();
+        record.headers().add(TaskEventHeaders.CREATED_AT, millis(now - 300));
+        record.headers().add(TaskEventHeaders.COMMITTED_AT, millis(now - 200));
+        record.headers().add(TaskEventHeaders.PUBLISHED_AT, millis(now - 150));
+
+        consumer.onTaskEvent(record);
+
+        assertThat(meterRegistry.get("task.events.latency").tag("stage", "transaction")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(100);
+        assertThat(meterRegistry.get("task.events.latency").tag("stage", "commit_to_publish")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(50);
+        assertThat(meterRegistry.get("task.events.latency").tag("stage", "publish_to_consume")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(150);
+        assertThat(meterRegistry.get("task.events.latency").tag("stage", "end_to_end")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(200);
+        assertThat(meterRegistry.get("task.events.latency").tag("stage", "handle").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void onTaskEvent_withoutHeadersOnlyRecordsHandleStage() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskEventConsumer consumer = newConsumer(meterRegistry);
+
+        consumer.onTaskEvent(new ConsumerRecord<>("task-events", 0, 0L, "1",
+                new TaskEvent(1L, "t1", "d1", "TODO", "UPDATED")));
+
+        assertThat(meterRegistry.get("task.events.latency").timers()).hasSize(1);
+        assertThat(meterRegistry.get("task.events.latency").tag("stage", "handle").timer().count()).isEqualTo(1);
+    }
+
+    private static byte[] millis(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void consumeTaskEvent_skipsRedeliveredEvents() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskEventConsumer consumer = newConsumer(meterRegistry);
+        TaskEvent event = new TaskEvent(1L, "t1", "d1", "TODO", "CREATED");
+        event.setEventId("event-1");
+
+        consumer.consumeTaskEvent(event);
+        consumer.consumeTaskEvent(event);
+
+        assertThat(meterRegistry.get("notification.events.processed").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notification.events.duplicates").counter().count()).isEqualTo(1);
+        assertThat(processedEvents.isProcessed(event.getEventId())).isTrue();
+    }
+
+    @Test
+    void consumeTaskEvent_handlesEventsWithoutIdEveryTime() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskEventConsumer consumer = newConsumer(meterRegistry);
+        TaskEvent event = new TaskEvent(1L, "t1", "d1", "TODO", "CREATED");
+
+        consumer.consumeTaskEvent(event);
+        consumer.consumeTaskEvent(event);
+
+        assertThat(meterRegistry.get("notification.events.processed").timer().count()).isEqualTo(2);
+        assertThat(processedEvents.size()).isZero();
+    }
+
+    @Test
+    void onTaskEvent_countsEventsFromRetryTopics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskEventConsumer consumer = newConsumer(meterRegistry);
+        ConsumerRecord<String, TaskEvent> first = new ConsumerRecord<>("task-events", 0, 0L, "1",
+                new TaskEvent(1L, "t1", "d1", "TODO", "CREATED"));
+        ConsumerRecord<String, TaskEvent> retry = new ConsumerRecord<>("task-events-retry-0", 0, 0L, "2",
+                new TaskEvent(2L, "t2", "d2", "TODO", "CREATED"));
+        retry.headers().add(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS, new byte[]{0, 0, 0, 2});
+
+        consumer.onTaskEvent(first);
+        consumer.onTaskEvent(retry);
+
+        assertThat(meterRegistry.get("notification.events.retried").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void onDeadLetter_countsDeadLetteredEvents() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskEventConsumer consumer = newConsumer(meterRegistry);
+
+        consumer.onDeadLetter(new ConsumerRecord<>("task-events-dlt", 0, 0L, "1",
+                new TaskEvent(1L, "t1", "d1", "TODO", "CREATED")));
+        consumer.onDeadLetter(new ConsumerRecord<>("task-events-dlt", 0, 1L, "2", null));
+
+        assertThat(meterRegistry.get("notification.events.dead_lettered").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void consumeTaskEvent_dispatchesCreatedEventToEveryRecipientAtOnce() {
+        TaskEventConsumer consumer = newConsumer(new SimpleMeterRegistry());
+
+        consumer.consumeTaskEvent(new TaskEvent(1L, "t1", "d1", "TODO", "CREATED"));
+
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dispatcher).dispatch(captor.capture(), anyCollection());
+        assertThat(captor.getValue()).extracting(Notification::recipient).containsExactly("alice", "bob");
+        assertThat(captor.getValue().get(0).subject()).isEqualTo("New task: t1");
+    }
+
+    @Test
+    void consumeTaskEvent_handsUpdatedEventsToTheDigester() {
+        TaskEventConsumer consumer = newConsumer(new SimpleMeterRegistry());
+        TaskEvent event = new TaskEvent(1L, "t1", "d1", "DONE", "UPDATED");
+
+        consumer.consumeTaskEvent(event);
+
+        verify(updateDigester).add("alice", event);
+        verify(updateDigester).add("bob", event);
+        verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    void consumeTaskEvent_marksTheEventProcessedOnlyOnceEveryChannelAcceptedIt() {
+        TaskEventConsumer consumer = newConsumer(new SimpleMeterRegistry());
+        TaskEvent event = new TaskEvent(1L, "t1", "d1", "TODO", "CREATED");
+        event.setEventId("event-1");
+        CompletableFuture<Void> accepted = new CompletableFuture<>();
+        when(dispatcher.dispatch(anyList(), anyCollection())).thenReturn(accepted);
+
+        consumer.consumeTaskEvent(event);
+        assertThat(processedEvents.isProcessed(event.getEventId())).isFalse();
+
+        accepted.complete(null);
+        assertThat(processedEvents.isProcessed(event.getEventId())).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onTaskEvent_sendsEventsTheChannelsGaveUpOnToTheRetryTopic() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskEventConsumer consumer = newConsumer(meterRegistry);
+        TaskEvent event = new TaskEvent(1L, "t1", "d1", "DONE", "UPDATED");
+        event.setEventId("event-1");
+        CompletableFuture<Void> digest = new CompletableFuture<>();
+        when(updateDigester.add(anyString(), any())).thenReturn(digest);
+
+        consumer.onTaskEvent(new ConsumerRecord<>("task-events", 0, 0L, "1", event));
+        digest.completeExceptionally(new IllegalStateException("webhook down"));
+
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        assertThat(captor.getValue().topic()).isEqualTo("task-events-retry-0");
+        assertThat(captor.getValue().key()).isEqualTo("1");
+        assertThat(captor.getValue().value()).isSameAs(event);
+        assertThat(captor.getValue().headers().lastHeader(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS).value())
+                .containsExactly(0, 0, 0, 2);
+        assertThat(processedEvents.isProcessed(event.getEventId())).isFalse();
+        assertThat(meterRegistry.get("notification.events.redelivered").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void onTaskEvent_retriedEventsWaitForTheChannelsAndSkipTheDigest() {
+        TaskEventConsumer consumer = newConsumer(new SimpleMeterRegistry());
+        TaskEvent event = new TaskEvent(1L, "t1", "d1", "DONE", "UPDATED");
+        ConsumerRecord<String, TaskEvent> retry = new ConsumerRecord<>("task-events-retry-0", 0, 0L, "1", event);
+        retry.headers().add(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS, new byte[]{0, 0, 0, 2});
+        when(dispatcher.dispatch(anyList(), anyCollection()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("webhook down")));
+
+        assertThatThrownBy(() -> consumer.onTaskEvent(retry))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("webhook down");
+
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dispatcher).dispatch(captor.capture(), anyCollection());
+        assertThat(captor.getValue()).extracting(Notification::subject).containsOnly("Task updated: t1");
+        verifyNoInteractions(updateDigester, kafkaTemplate);
+    }
+
+    @Test
+    void consumeTaskEvent_fullChannelQueueFailsTheEventWithoutMarkingItProcessed() {
+        TaskEventConsumer consumer = newConsumer(new SimpleMeterRegistry());
+        TaskEvent event = new TaskEvent(1L, "t1", "d1", "TODO", "DELETED");
+        event.setEventId("event-1");
+        doThrow(new RejectedExecutionException("full")).when(dispatcher).dispatch(anyList(), anyCollection());
+
+        assertThatThrownBy(() -> consumer.consumeTaskEvent(event)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(processedEvents.isProcessed(event.getEventId())).isFalse();
+    }
+}
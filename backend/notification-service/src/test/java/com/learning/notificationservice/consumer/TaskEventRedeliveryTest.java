@@ -0,0 +1,121 @@
+package com.learning.notificationservice.consumer;
+
+import com.learning.events.TaskEvent;
+import com.learning.notificationservice.dedup.ProcessedEventStore;
+import com.learning.notificationservice.dispatch.InAppNotificationChannel;
+import com.learning.notificationservice.dispatch.Notification;
+import com.learning.notificationservice.dispatch.NotificationChannel;
+import com.learning.notificationservice.dispatch.NotificationDispatcher;
+import com.learning.notificationservice.dispatch.UpdateDigester;
+import com.learning.notificationservice.repository.InboxCounterRepository;
+import com.learning.notificationservice.repository.InboxNotificationRepository;
+import com.learning.notificationservice.service.InboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// The channel workers store on their own threads, so the inbox is committed rather than rolled back
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@Import(InboxService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskEventRedeliveryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Autowired
+    private InboxService inboxService;
+
+    @Autowired
+    private InboxNotificationRepository inboxNotificationRepository;
+
+    @Autowired
+    private InboxCounterRepository inboxCounterRepository;
+
+    private ProcessedEventStore processedEvents;
+
+    private NotificationDispatcher dispatcher;
+
+    private UpdateDigester updateDigester;
+
+    @AfterEach
+    void tearDown() {
+        updateDigester.close();
+        dispatcher.shutdown();
+        processedEvents.close();
+        inboxNotificationRepository.deleteAll();
+        inboxCounterRepository.deleteAll();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retriedEvent_isNotStoredInTheInboxAgainWhenOnlyAnotherChannelFailed() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FailingOnceChannel webhook = new FailingOnceChannel();
+        processedEvents = new ProcessedEventStore(tempDir.resolve("processed-events.log"), Duration.ofHours(1), 1000);
+        dispatcher = new NotificationDispatcher(List.of(new InAppNotificationChannel(inboxService), webhook),
+                new MockEnvironment().withProperty("notification.channels.webhook.max-attempts", "1"),
+                meterRegistry, processedEvents);
+        updateDigester = new UpdateDigester(dispatcher, Duration.ofHours(1), 50, meterRegistry);
+        KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        TaskEventConsumer consumer = new TaskEventConsumer(meterRegistry, processedEvents, dispatcher, updateDigester,
+                kafkaTemplate, "task-events", List.of("dora"), Duration.ofSeconds(5));
+        TaskEvent event = new TaskEvent(1L, "t1", "d1", "TODO", "CREATED");
+        event.setEventId("event-1");
+
+        // The webhook gives up on the first attempt, so the event is sent to the retry topic
+        consumer.onTaskEvent(new ConsumerRecord<>("task-events", 0, 0L, "1", event));
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, timeout(5000)).send(captor.capture());
+        ConsumerRecord<String, TaskEvent> retry = new ConsumerRecord<>(captor.getValue().topic(), 0, 0L, "1", event);
+        captor.getValue().headers().forEach(retry.headers()::add);
+
+        consumer.onTaskEvent(retry);
+
+        assertThat(webhook.attempts.get()).isEqualTo(2);
+        assertThat(inboxService.page("dora", null, 10)).hasSize(1);
+        assertThat(inboxService.unreadCount("dora")).isEqualTo(1);
+        assertThat(processedEvents.isProcessed("event-1")).isTrue();
+    }
+
+    private static class FailingOnceChannel implements NotificationChannel {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        @Override
+        public String name() {
+            return "webhook";
+        }
+
+        @Override
+        public void send(List<Notification> batch) {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("webhook down");
+            }
+        }
+    }
+}
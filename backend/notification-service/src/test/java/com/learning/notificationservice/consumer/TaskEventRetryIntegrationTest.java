@@ -0,0 +1,73 @@
+package com.learning.notificationservice.consumer;
+
+import com.learning.notificationservice.service.DeadLetterReplayService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@AutoConfigureTestDatabase
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "notification.retry.delay-ms=100",
+        "notification.retry.max-delay-ms=200"
+})
+@EmbeddedKafka(partitions = 1, topics = "task-events")
+class TaskEventRetryIntegrationTest {
+
+    @TempDir
+    static Path tempDir;
+
+    @DynamicPropertySource
+    static void dedupLog(DynamicPropertyRegistry registry) {
+        registry.add("notification.dedup.log-path", () -> tempDir.resolve("processed-events.log").toString());
+    }
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    @Qualifier("deadLetterConsumerFactory")
+    private ConsumerFactory<String, byte[]> deadLetterConsumerFactory;
+
+    @Autowired
+    private DeadLetterReplayService replayService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void undecodableEvent_isDeadLetteredAsRawBytesAndCanBeReplayed() throws Exception {
+        byte[] garbage = {42, 42, 42};
+        kafkaTemplate.send(new ProducerRecord<>("task-events", "7", garbage)).get();
+
+        try (Consumer<String, byte[]> consumer = deadLetterConsumerFactory.createConsumer("dlt-check", null)) {
+            consumer.subscribe(java.util.List.of("task-events-dlt"));
+            ConsumerRecord<String, byte[]> deadLetter =
+                    KafkaTestUtils.getSingleRecord(consumer, "task-events-dlt", Duration.ofSeconds(30));
+
+            assertThat(deadLetter.key()).isEqualTo("7");
+            assertThat(deadLetter.value()).isEqualTo(garbage);
+        }
+
+        assertThat(replayService.replay(10)).isEqualTo(1);
+        assertThat(meterRegistry.get("notification.dlt.replayed").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,40 @@
+package com.learning.notificationservice.controller;
+
+import com.learning.notificationservice.service.DeadLetterReplayService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DeadLetterController.class)
+class DeadLetterControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DeadLetterReplayService replayService;
+
+    @Test
+    void replay_returnsReplayedCount() throws Exception {
+        when(replayService.replay(25)).thenReturn(3);
+
+        mockMvc.perform(post("/api/notifications/dlt/replay").param("max", "25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.replayed").value(3));
+    }
+
+    @Test
+    void replay_rejectsNonPositiveMax() throws Exception {
+        mockMvc.perform(post("/api/notifications/dlt/replay").param("max", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(replayService);
+    }
+}
@@ -0,0 +1,89 @@
+package com.learning.notificationservice.controller;
+
+import com.learning.notificationservice.model.InboxNotification;
+import com.learning.notificationservice.service.InboxService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(InboxController.class)
+class InboxControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private InboxService inboxService;
+
+    private static InboxNotification notification(long id) {
+        InboxNotification notification = new InboxNotification("alice", id, "subject " + id, "body");
+        notification.setId(id);
+        return notification;
+    }
+
+    @Test
+    void getInbox_returnsACursorWhenThePageIsFull() throws Exception {
+        when(inboxService.page("alice", 10L, 2)).thenReturn(List.of(notification(9), notification(8)));
+
+        mockMvc.perform(get("/api/notifications/inbox/alice").param("before", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].subject").value("subject 9"))
+                .andExpect(jsonPath("$.nextBefore").value(8));
+    }
+
+    @Test
+    void getInbox_omitsTheCursorOnTheLastPage() throws Exception {
+        when(inboxService.page("alice", null, 20)).thenReturn(List.of(notification(1)));
+
+        mockMvc.perform(get("/api/notifications/inbox/alice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextBefore").doesNotExist());
+    }
+
+    @Test
+    void getInbox_rejectsOversizedPages() throws Exception {
+        mockMvc.perform(get("/api/notifications/inbox/alice").param("limit", "500"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getUnreadCount_readsTheCounter() throws Exception {
+        when(inboxService.unreadCount("alice")).thenReturn(42L);
+
+        mockMvc.perform(get("/api/notifications/inbox/alice/unread-count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unread").value(42));
+    }
+
+    @Test
+    void markRead_marksTheGivenIds() throws Exception {
+        when(inboxService.markRead("alice", List.of(1L, 2L))).thenReturn(2);
+
+        mockMvc.perform(post("/api/notifications/inbox/alice/read")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.marked").value(2));
+    }
+
+    @Test
+    void markAllRead_marksEverything() throws Exception {
+        when(inboxService.markAllRead("alice")).thenReturn(7);
+
+        mockMvc.perform(post("/api/notifications/inbox/alice/read-all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.marked").value(7));
+    }
+}
@@ -0,0 +1,121 @@
+package com.learning.notificationservice.dedup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProcessedEventStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final MutableClock clock = new MutableClock();
+
+    private ProcessedEventStore open(Duration window, int maxEntries) {
+        return new ProcessedEventStore(tempDir.resolve("processed-events.log"), window, maxEntries, clock);
+    }
+
+    @Test
+    void markProcessed_isRememberedWithinWindow() {
+        ProcessedEventStore store = open(Duration.ofMinutes(10), 100);
+
+        store.markProcessed("a");
+
+        assertThat(store.isProcessed("a")).isTrue();
+        assertThat(store.isProcessed("b")).isFalse();
+        clock.advance(Duration.ofMinutes(11));
+        assertThat(store.isProcessed("a")).isFalse();
+        store.close();
+    }
+
+    @Test
+    void restart_replaysLogAndDropsExpiredEntries() {
+        ProcessedEventStore store = open(Duration.ofMinutes(10), 100);
+        store.markProcessed("old");
+        clock.advance(Duration.ofMinutes(6));
+        store.markProcessed("recent");
+        store.close();
+
+        clock.advance(Duration.ofMinutes(5));
+        ProcessedEventStore reopened = open(Duration.ofMinutes(10), 100);
+
+        assertThat(reopened.isProcessed("recent")).isTrue();
+        assertThat(reopened.isProcessed("old")).isFalse();
+        assertThat(reopened.size()).isEqualTo(1);
+        reopened.close();
+    }
+
+    @Test
+    void maxEntries_evictsEldest() {
+        ProcessedEventStore store = open(Duration.ofHours(1), 2);
+
+        store.markProcessed("a");
+        store.markProcessed("b");
+        store.markProcessed("c");
+
+        assertThat(store.isProcessed("a")).isFalse();
+        assertThat(store.isProcessed("b")).isTrue();
+        assertThat(store.isProcessed("c")).isTrue();
+        store.close();
+    }
+
+    @Test
+    void log_isCompactedToLiveEntries() throws IOException {
+        ProcessedEventStore store = open(Duration.ofMinutes(1), 10);
+        for (int i = 0; i < 2500; i++) {
+            store.markProcessed("event-" + i);
+        }
+        store.close();
+
+        assertThat(Files.readAllLines(tempDir.resolve("processed-events.log")).size()).isLessThan(1100);
+        ProcessedEventStore reopened = open(Duration.ofMinutes(1), 10);
+        assertThat(reopened.isProcessed("event-2499")).isTrue();
+        assertThat(reopened.size()).isEqualTo(10);
+        reopened.close();
+    }
+
+    @Test
+    void load_skipsTornAndMalformedLines() throws IOException {
+        long now = clock.millis();
+        Files.writeString(tempDir.resolve("processed-events.log"),
+                now + " good\nnot-a-number bad\n" + now + " \n" + now);
+
+        ProcessedEventStore store = open(Duration.ofMinutes(10), 100);
+
+        assertThat(store.isProcessed("good")).isTrue();
+        assertThat(store.size()).isEqualTo(1);
+        store.close();
+    }
+}
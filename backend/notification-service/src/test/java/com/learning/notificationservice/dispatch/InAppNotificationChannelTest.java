@@ -0,0 +1,36 @@
+package com.learning.notificationservice.dispatch;
+
+import com.learning.notificationservice.service.InboxService;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class InAppNotificationChannelTest {
+
+    private final InboxService inboxService = mock(InboxService.class);
+
+    private final InAppNotificationChannel channel = new InAppNotificationChannel(inboxService);
+
+    private final List<Notification> batch = List.of(
+            new Notification("alice", 1L, "New task: t1", "body 1"),
+            new Notification("bob", 1L, "New task: t1", "body 1"));
+
+    @Test
+    void send_storesTheBatchInTheInbox() {
+        channel.send(batch);
+
+        verify(inboxService).store(batch);
+    }
+
+    @Test
+    void send_retriesOnceWhenACounterWasCreatedConcurrently() {
+        doThrow(new DataIntegrityViolationException("duplicate key")).doNothing().when(inboxService).store(batch);
+
+        channel.send(batch);
+
+        verify(inboxService, times(2)).store(batch);
+    }
+}
@@ -0,0 +1,287 @@
+package com.learning.notificationservice.dispatch;
+
+import com.learning.notificationservice.dedup.ProcessedEventStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @TempDir
+    Path tempDir;
+
+    private ProcessedEventStore deliveries;
+
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        deliveries = new ProcessedEventStore(tempDir.resolve("processed-events.log"), Duration.ofHours(1), 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        deliveries.close();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition within 5s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static Notification notification(int i) {
+        return new Notification("alice", (long) i, "subject " + i, "body");
+    }
+
+    @Test
+    void dispatch_deliversToEveryChannelInBatches() throws Exception {
+        RecordingChannel fast = new RecordingChannel("fast");
+        RecordingChannel other = new RecordingChannel("other");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("notification.channels.fast.batch-size", "10")
+                .withProperty("notification.channels.fast.burst", "100")
+                .withProperty("notification.channels.fast.rate-per-second", "1000");
+        fast.block();
+        dispatcher = new NotificationDispatcher(List.of(fast, other), environment, meterRegistry, deliveries);
+
+        // The first notification is taken while the channel blocks, the rest pile up into batches
+        for (int i = 0; i < 21; i++) {
+            dispatcher.dispatch(notification(i));
+        }
+        fast.unblock();
+
+        awaitUntil(() -> fast.delivered().size() == 21 && other.delivered().size() == 21);
+        assertThat(fast.batches).hasSizeLessThanOrEqualTo(4);
+        assertThat(fast.batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(10));
+        assertThat(meterRegistry.get("notification.channel.sent").tag("channel", "fast").tag("outcome", "success")
+                .counter().count()).isEqualTo(21);
+    }
+
+    @Test
+    void dispatch_slowChannelDoesNotHoldBackTheOthers() throws Exception {
+        RecordingChannel slow = new RecordingChannel("slow");
+        RecordingChannel fast = new RecordingChannel("fast");
+        slow.block();
+        dispatcher = new NotificationDispatcher(List.of(slow, fast), new MockEnvironment(), meterRegistry, deliveries);
+
+        dispatcher.dispatch(notification(1));
+        // The slow channel's worker is now stuck delivering the first notification
+        awaitUntil(() -> dispatcher.queueDepth("slow") == 0);
+        dispatcher.dispatch(notification(2));
+
+        awaitUntil(() -> fast.delivered().size() == 2);
+        assertThat(slow.delivered()).isEmpty();
+        assertThat(dispatcher.queueDepth("slow")).isEqualTo(1);
+        assertThat(meterRegistry.get("notification.channel.queue.depth").tag("channel", "slow").gauge().value())
+                .isEqualTo(1);
+        slow.unblock();
+    }
+
+    @Test
+    void dispatch_rejectsOnAllChannelsWhenOneQueueIsFull() throws Exception {
+        RecordingChannel slow = new RecordingChannel("slow");
+        RecordingChannel fast = new RecordingChannel("fast");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("notification.channels.slow.queue-capacity", "2");
+        slow.block();
+        dispatcher = new NotificationDispatcher(List.of(slow, fast), environment, meterRegistry, deliveries);
+        dispatcher.dispatch(notification(1));
+        awaitUntil(() -> dispatcher.queueDepth("slow") == 0);
+
+        assertThatThrownBy(() -> dispatcher.dispatch(List.of(notification(2), notification(3), notification(4))))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        assertThat(dispatcher.queueDepth("slow")).isZero();
+        assertThat(fast.delivered()).hasSize(1);
+        assertThat(meterRegistry.get("notification.channel.rejected").tag("channel", "slow").counter().count())
+                .isEqualTo(1);
+        slow.unblock();
+    }
+
+    @Test
+    void dispatch_completesOnceEveryChannelAcceptedTheNotifications() throws Exception {
+        RecordingChannel slow = new RecordingChannel("slow");
+        RecordingChannel fast = new RecordingChannel("fast");
+        slow.block();
+        dispatcher = new NotificationDispatcher(List.of(slow, fast), new MockEnvironment(), meterRegistry, deliveries);
+
+        CompletableFuture<Void> accepted = dispatcher.dispatch(List.of(notification(1), notification(2)));
+        awaitUntil(() -> fast.delivered().size() == 2);
+        assertThat(accepted).isNotDone();
+
+        slow.unblock();
+        accepted.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void dispatch_retriesFailedBatchesWithBackoff() throws Exception {
+        FlakyChannel flaky = new FlakyChannel(2);
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("notification.channels.flaky.max-attempts", "3")
+                .withProperty("notification.channels.flaky.retry-backoff", "10ms");
+        dispatcher = new NotificationDispatcher(List.of(flaky), environment, meterRegistry, deliveries);
+
+        dispatcher.dispatch(notification(1)).get(5, TimeUnit.SECONDS);
+
+        assertThat(flaky.attempts.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("notification.channel.sent").tag("outcome", "failure").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("notification.channel.sent").tag("outcome", "success").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void dispatch_failsOnceTheRetriesAreExhausted() throws Exception {
+        FlakyChannel broken = new FlakyChannel(Integer.MAX_VALUE);
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("notification.channels.flaky.max-attempts", "2")
+                .withProperty("notification.channels.flaky.retry-backoff", "10ms");
+        dispatcher = new NotificationDispatcher(List.of(broken), environment, meterRegistry, deliveries);
+
+        CompletableFuture<Void> accepted = dispatcher.dispatch(notification(1));
+
+        assertThatThrownBy(() -> accepted.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("down");
+        assertThat(broken.attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    void dispatch_retriesAnEventOnlyOnTheChannelsThatFailedIt() throws Exception {
+        FlakyChannel flaky = new FlakyChannel(1);
+        RecordingChannel inbox = new RecordingChannel("inbox");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("notification.channels.flaky.max-attempts", "1");
+        dispatcher = new NotificationDispatcher(List.of(flaky, inbox), environment, meterRegistry, deliveries);
+
+        CompletableFuture<Void> first = dispatcher.dispatch(List.of(notification(1)), List.of("event-1"));
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("down");
+        dispatcher.dispatch(List.of(notification(1)), List.of("event-1")).get(5, TimeUnit.SECONDS);
+
+        assertThat(inbox.delivered()).hasSize(1);
+        assertThat(flaky.attempts.get()).isEqualTo(2);
+        assertThat(deliveries.isDelivered("event-1", "inbox")).isTrue();
+        assertThat(deliveries.isDelivered("event-1", "flaky")).isTrue();
+    }
+
+    @Test
+    void shutdown_failsNotificationsThatWereNotDelivered() throws Exception {
+        RecordingChannel stuck = new RecordingChannel("stuck");
+        stuck.block();
+        ChannelWorker worker = new ChannelWorker(stuck, ChannelSettings.of(new MockEnvironment(), "stuck"), meterRegistry);
+        worker.start();
+        CompletableFuture<Void> first = worker.offer(notification(1));
+        awaitUntil(() -> worker.queueDepth() == 0);
+        CompletableFuture<Void> second = worker.offer(notification(2));
+
+        worker.shutdown(Duration.ofMillis(100));
+
+        assertThat(second).isCompletedExceptionally();
+        assertThat(first).isDone();
+    }
+
+    @Test
+    void dispatch_respectsTheChannelRateLimit() throws Exception {
+        RecordingChannel limited = new RecordingChannel("limited");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("notification.channels.limited.rate-per-second", "5")
+                .withProperty("notification.channels.limited.burst", "1")
+                .withProperty("notification.channels.limited.batch-size", "1");
+        dispatcher = new NotificationDispatcher(List.of(limited), environment, meterRegistry, deliveries);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            dispatcher.dispatch(notification(i));
+        }
+        awaitUntil(() -> limited.delivered().size() == 3);
+
+        // One token up front, then one every 200ms
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(350);
+    }
+
+    private static class FlakyChannel implements NotificationChannel {
+
+        private final int failures;
+
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        FlakyChannel(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public String name() {
+            return "flaky";
+        }
+
+        @Override
+        public void send(List<Notification> batch) {
+            if (attempts.incrementAndGet() <= failures) {
+                throw new IllegalStateException("down");
+            }
+        }
+    }
+
+    private static class RecordingChannel implements NotificationChannel {
+
+        private final String name;
+
+        private final List<List<Notification>> batches = new CopyOnWriteArrayList<>();
+
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        RecordingChannel(String name) {
+            this.name = name;
+        }
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void unblock() {
+            gate.countDown();
+        }
+
+        List<Notification> delivered() {
+            return batches.stream().flatMap(List::stream).toList();
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void send(List<Notification> batch) {
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batches.add(batch);
+        }
+    }
+}
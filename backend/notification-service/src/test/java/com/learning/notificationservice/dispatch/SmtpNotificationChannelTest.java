@@ -0,0 +1,33 @@
+package com.learning.notificationservice.dispatch;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SmtpNotificationChannelTest {
+
+    @Test
+    void send_deliversTheBatchInOneCall() {
+        JavaMailSender mailSender = mock(JavaMailSender.class);
+        SmtpNotificationChannel channel = new SmtpNotificationChannel(mailSender, "noreply@test.local", "test.local");
+
+        channel.send(List.of(
+                new Notification("alice", 1L, "New task: t1", "body 1"),
+                new Notification("bob@example.com", 1L, "New task: t1", "body 1")));
+
+        ArgumentCaptor<SimpleMailMessage[]> captor = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(mailSender).send(captor.capture());
+        SimpleMailMessage[] messages = captor.getValue();
+        assertThat(messages).hasSize(2);
+        assertThat(messages[0].getTo()).containsExactly("alice@test.local");
+        assertThat(messages[0].getFrom()).isEqualTo("noreply@test.local");
+        assertThat(messages[0].getSubject()).isEqualTo("New task: t1");
+        assertThat(messages[1].getTo()).containsExactly("bob@example.com");
+    }
+}
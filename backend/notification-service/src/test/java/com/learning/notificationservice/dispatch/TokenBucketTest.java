@@ -0,0 +1,50 @@
+package com.learning.notificationservice.dispatch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    void tryAcquire_allowsTheBurstThenReportsTheWait() {
+        TokenBucket bucket = new TokenBucket(10, 5, nanoTime::get);
+
+        assertThat(bucket.tryAcquire(5)).isZero();
+        // One token refills every 100ms
+        assertThat(bucket.tryAcquire(1)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void tryAcquire_refillsOverTimeUpToTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 5, nanoTime::get);
+        bucket.tryAcquire(5);
+
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(300));
+        assertThat(bucket.tryAcquire(3)).isZero();
+        assertThat(bucket.tryAcquire(1)).isPositive();
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertThat(bucket.tryAcquire(5)).isZero();
+        assertThat(bucket.tryAcquire(1)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_capsRequestsLargerThanTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 5, nanoTime::get);
+
+        assertThat(bucket.tryAcquire(50)).isZero();
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveRate() {
+        assertThatThrownBy(() -> new TokenBucket(0, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
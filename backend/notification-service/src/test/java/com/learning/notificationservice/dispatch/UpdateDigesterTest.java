@@ -0,0 +1,150 @@
+package com.learning.notificationservice.dispatch;
+
+import com.learning.events.TaskEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class UpdateDigesterTest {
+
+    private NotificationDispatcher dispatcher;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UpdateDigester digester;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = mock(NotificationDispatcher.class);
+        when(dispatcher.dispatch(anyList(), anyCollection())).thenReturn(CompletableFuture.completedFuture(null));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        digester.close();
+    }
+
+    private static TaskEvent updated(long taskId, String status) {
+        return new TaskEvent(taskId, "task " + taskId, "d", status, "UPDATED");
+    }
+
+    @Test
+    void add_coalescesABurstIntoOneDigestPerRecipient() {
+        digester = new UpdateDigester(dispatcher, Duration.ofHours(1), 50, meterRegistry);
+
+        digester.add("alice", updated(1, "TODO"));
+        digester.add("alice", updated(2, "TODO"));
+        digester.add("alice", updated(1, "DONE"));
+        digester.add("bob", updated(1, "DONE"));
+        verifyNoInteractions(dispatcher);
+
+        digester.flush("alice");
+
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dispatcher).dispatch(captor.capture(), anyCollection());
+        Notification digest = captor.getValue().get(0);
+        assertThat(digest.recipient()).isEqualTo("alice");
+        assertThat(digest.subject()).isEqualTo("2 tasks updated");
+        assertThat(digest.body()).contains("- task 1 (DONE)", "- task 2 (TODO)").doesNotContain("task 1 (TODO)");
+        assertThat(meterRegistry.get("notification.digest.coalesced").counter().count()).isEqualTo(2);
+        assertThat(digester.pendingRecipients()).isEqualTo(1);
+    }
+
+    @Test
+    void add_dispatchesWhenTheWindowCloses() {
+        digester = new UpdateDigester(dispatcher, Duration.ofMillis(50), 50, meterRegistry);
+
+        digester.add("alice", updated(1, "DONE"));
+
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dispatcher, timeout(5000)).dispatch(captor.capture(), anyCollection());
+        assertThat(captor.getValue()).singleElement().satisfies(digest -> {
+            assertThat(digest.subject()).isEqualTo("Task updated: task 1");
+            assertThat(digest.taskId()).isEqualTo(1L);
+        });
+    }
+
+    @Test
+    void add_dispatchesEarlyOnceTheDigestIsFull() {
+        digester = new UpdateDigester(dispatcher, Duration.ofHours(1), 3, meterRegistry);
+
+        digester.add("alice", updated(1, "DONE"));
+        digester.add("alice", updated(2, "DONE"));
+        digester.add("alice", updated(3, "DONE"));
+
+        verify(dispatcher).dispatch(anyList(), anyCollection());
+        assertThat(digester.pendingRecipients()).isZero();
+    }
+
+    @Test
+    void add_completesOnceTheDigestWasAccepted() {
+        digester = new UpdateDigester(dispatcher, Duration.ofHours(1), 50, meterRegistry);
+        CompletableFuture<Void> accepted = new CompletableFuture<>();
+        when(dispatcher.dispatch(anyList(), anyCollection())).thenReturn(accepted);
+
+        CompletableFuture<Void> first = digester.add("alice", updated(1, "DONE"));
+        CompletableFuture<Void> second = digester.add("alice", updated(2, "DONE"));
+        digester.flush("alice");
+        assertThat(first).isNotDone();
+
+        accepted.complete(null);
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+    }
+
+    @Test
+    void flush_failsTheDigestWhenAChannelQueueIsFull() {
+        digester = new UpdateDigester(dispatcher, Duration.ofHours(1), 50, meterRegistry);
+        doThrow(new RejectedExecutionException("full")).when(dispatcher).dispatch(anyList(), anyCollection());
+
+        CompletableFuture<Void> delivered = digester.add("alice", updated(1, "DONE"));
+        digester.flush("alice");
+
+        assertThat(delivered).isCompletedExceptionally();
+        assertThat(meterRegistry.get("notification.digest.dropped").counter().count()).isEqualTo(1);
+        assertThat(digester.pendingRecipients()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_reportsEveryEventFoldedIntoTheDigest() {
+        digester = new UpdateDigester(dispatcher, Duration.ofHours(1), 50, meterRegistry);
+        TaskEvent first = updated(1, "TODO");
+        first.setEventId("event-1");
+        TaskEvent second = updated(1, "DONE");
+        second.setEventId("event-2");
+
+        digester.add("alice", first);
+        digester.add("alice", second);
+        digester.flush("alice");
+
+        ArgumentCaptor<Collection<String>> eventIds = ArgumentCaptor.forClass(Collection.class);
+        verify(dispatcher).dispatch(anyList(), eventIds.capture());
+        assertThat(eventIds.getValue()).containsExactly("event-1", "event-2");
+    }
+
+    @Test
+    void close_flushesOpenDigests() {
+        digester = new UpdateDigester(dispatcher, Duration.ofHours(1), 50, meterRegistry);
+        digester.add("alice", updated(1, "DONE"));
+        digester.add("bob", updated(2, "DONE"));
+
+        digester.close();
+
+        verify(dispatcher, times(2)).dispatch(anyList(), anyCollection());
+    }
+}
@@ -0,0 +1,51 @@
+package com.learning.notificationservice.dispatch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class WebhookNotificationChannelTest {
+
+    private final RestClient.Builder builder = RestClient.builder().baseUrl("http://hooks.test/notifications");
+
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+
+    private WebhookNotificationChannel newChannel() {
+        return new WebhookNotificationChannel(builder.build());
+    }
+
+    @Test
+    void send_postsTheBatchAsOneJsonArray() {
+        server.expect(requestTo("http://hooks.test/notifications"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].recipient").value("alice"))
+                .andExpect(jsonPath("$[1].subject").value("Task deleted: t2"))
+                .andRespond(withSuccess());
+
+        newChannel().send(List.of(
+                new Notification("alice", 1L, "New task: t1", "body 1"),
+                new Notification("bob", 2L, "Task deleted: t2", "body 2")));
+
+        server.verify();
+    }
+
+    @Test
+    void send_throwsWhenTheWebhookFails() {
+        server.expect(requestTo("http://hooks.test/notifications")).andRespond(withServerError());
+
+        assertThatThrownBy(() -> newChannel().send(List.of(new Notification("alice", 1L, "s", "b"))))
+                .isInstanceOf(HttpServerErrorException.class);
+    }
+}
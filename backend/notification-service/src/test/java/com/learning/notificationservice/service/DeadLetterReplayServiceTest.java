@@ -0,0 +1,127 @@
+package com.learning.notificationservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DeadLetterReplayServiceTest {
+
+    private static final TopicPartition DLT_PARTITION = new TopicPartition("task-events-dlt", 0);
+
+    private MockConsumer<String, byte[]> consumer;
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private DeadLetterReplayService replayService;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+            @Override
+            public synchronized void close() {
+                // Kept open so the committed offsets can be checked after a replay
+            }
+        };
+        consumer.updatePartitions("task-events-dlt", List.of(
+                new PartitionInfo("task-events-dlt", 0, Node.noNode(), new Node[0], new Node[0])));
+        consumer.updateBeginningOffsets(Map.of(DLT_PARTITION, 0L));
+        consumer.updateEndOffsets(Map.of(DLT_PARTITION, 2L));
+
+        ConsumerFactory<String, byte[]> consumerFactory = mock(ConsumerFactory.class);
+        when(consumerFactory.createConsumer()).thenReturn(consumer);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        meterRegistry = new SimpleMeterRegistry();
+
+        replayService = new DeadLetterReplayService(consumerFactory, kafkaTemplate, meterRegistry, "task-events");
+    }
+
+    private void addDeadLetter(long offset, String key) {
+        consumer.schedulePollTask(() -> {
+            ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("task-events-dlt", 0, offset, key, new byte[]{1, 2});
+            record.headers().add("kafka_dlt-exception-message", "boom".getBytes());
+            record.headers().add("retry_topic-attempts", new byte[]{0, 0, 0, 4});
+            record.headers().add("traceparent", "00-abc".getBytes());
+            consumer.addRecord(record);
+        });
+    }
+
+    @Test
+    void replay_republishesToMainTopicWithoutRetryHeaders() throws Exception {
+        addDeadLetter(0, "1");
+        addDeadLetter(1, "2");
+
+        int replayed = replayService.replay(10);
+
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(2)).send(captor.capture());
+        ProducerRecord<String, Object> first = captor.getAllValues().get(0);
+        assertThat(replayed).isEqualTo(2);
+        assertThat(first.topic()).isEqualTo("task-events");
+        assertThat(first.key()).isEqualTo("1");
+        assertThat(first.value()).isEqualTo(new byte[]{1, 2});
+        assertThat(first.headers().lastHeader("traceparent")).isNotNull();
+        assertThat(first.headers().lastHeader("kafka_dlt-exception-message")).isNull();
+        assertThat(first.headers().lastHeader("retry_topic-attempts")).isNull();
+        assertThat(meterRegistry.get("notification.dlt.replayed").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void replay_keepsPollingThroughEmptyPollsUntilTheEndOffsets() throws Exception {
+        consumer.schedulePollTask(() -> { });
+        addDeadLetter(0, "1");
+        consumer.schedulePollTask(() -> { });
+        addDeadLetter(1, "2");
+
+        assertThat(replayService.replay(10)).isEqualTo(2);
+        verify(kafkaTemplate, times(2)).send(any(ProducerRecord.class));
+    }
+
+    @Test
+    void replay_stopsAtMaxAndCommitsOnlyReplayedRecords() throws Exception {
+        addDeadLetter(0, "1");
+        addDeadLetter(1, "2");
+
+        int replayed = replayService.replay(1);
+
+        assertThat(replayed).isEqualTo(1);
+        verify(kafkaTemplate, times(1)).send(any(ProducerRecord.class));
+        Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(Set.of(DLT_PARTITION));
+        assertThat(committed.get(DLT_PARTITION).offset()).isEqualTo(1L);
+    }
+
+    @Test
+    void replay_returnsZeroWhenTopicDoesNotExist() throws Exception {
+        consumer.updatePartitions("task-events-dlt", List.of());
+
+        assertThat(replayService.replay(10)).isZero();
+    }
+
+    @Test
+    void replay_leavesRecordsDeadLetteredDuringTheReplayForTheNextOne() throws Exception {
+        addDeadLetter(0, "1");
+        addDeadLetter(1, "2");
+        addDeadLetter(2, "3");
+
+        assertThat(replayService.replay(10)).isEqualTo(2);
+    }
+}
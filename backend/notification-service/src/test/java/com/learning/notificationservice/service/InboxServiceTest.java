@@ -0,0 +1,88 @@
+package com.learning.notificationservice.service;
+
+import com.learning.notificationservice.dispatch.Notification;
+import com.learning.notificationservice.model.InboxNotification;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@Import(InboxService.class)
+class InboxServiceTest {
+
+    @Autowired
+    private InboxService inboxService;
+
+    private void storeFor(String recipient, int count) {
+        inboxService.store(java.util.stream.IntStream.range(0, count)
+                .mapToObj(i -> new Notification(recipient, (long) i, "subject " + i, "body"))
+                .toList());
+    }
+
+    @Test
+    void store_maintainsTheUnreadCounterPerRecipient() {
+        storeFor("alice", 3);
+        storeFor("alice", 2);
+        storeFor("bob", 1);
+
+        assertThat(inboxService.unreadCount("alice")).isEqualTo(5);
+        assertThat(inboxService.unreadCount("bob")).isEqualTo(1);
+        assertThat(inboxService.unreadCount("carol")).isZero();
+    }
+
+    @Test
+    void store_truncatesSubjectsAndBodiesLongerThanTheirColumns() {
+        String title = "t".repeat(300);
+        inboxService.store(List.of(new Notification("alice", 1L, "Task updated: " + title, "x".repeat(5000))));
+
+        InboxNotification stored = inboxService.page("alice", null, 1).get(0);
+        assertThat(stored.getSubject()).hasSize(InboxNotification.SUBJECT_LENGTH).startsWith("Task updated: ttt").endsWith("…");
+        assertThat(stored.getBody()).hasSize(InboxNotification.BODY_LENGTH).endsWith("…");
+    }
+
+    @Test
+    void page_walksTheInboxNewestFirstWithAKeysetCursor() {
+        storeFor("alice", 5);
+        storeFor("bob", 2);
+
+        List<InboxNotification> first = inboxService.page("alice", null, 2);
+        List<InboxNotification> second = inboxService.page("alice", first.get(1).getId(), 2);
+        List<InboxNotification> last = inboxService.page("alice", second.get(1).getId(), 2);
+
+        assertThat(first).extracting(InboxNotification::getSubject).containsExactly("subject 4", "subject 3");
+        assertThat(second).extracting(InboxNotification::getSubject).containsExactly("subject 2", "subject 1");
+        assertThat(last).extracting(InboxNotification::getSubject).containsExactly("subject 0");
+    }
+
+    @Test
+    void markRead_decrementsTheCounterOnlyForUnreadNotificationsOfTheRecipient() {
+        storeFor("alice", 3);
+        storeFor("bob", 1);
+        List<Long> aliceIds = inboxService.page("alice", null, 10).stream().map(InboxNotification::getId).toList();
+        Long bobId = inboxService.page("bob", null, 10).get(0).getId();
+
+        assertThat(inboxService.markRead("alice", List.of(aliceIds.get(0), aliceIds.get(1), bobId))).isEqualTo(2);
+        // Already read notifications do not count twice
+        assertThat(inboxService.markRead("alice", List.of(aliceIds.get(0)))).isZero();
+
+        assertThat(inboxService.unreadCount("alice")).isEqualTo(1);
+        assertThat(inboxService.unreadCount("bob")).isEqualTo(1);
+    }
+
+    @Test
+    void markAllRead_zeroesTheCounter() {
+        storeFor("alice", 4);
+        inboxService.markRead("alice", List.of(inboxService.page("alice", null, 1).get(0).getId()));
+
+        assertThat(inboxService.markAllRead("alice")).isEqualTo(3);
+
+        assertThat(inboxService.unreadCount("alice")).isZero();
+        assertThat(inboxService.page("alice", null, 10))
+                .allSatisfy(notification -> assertThat(notification.getReadAt()).isNotNull());
+    }
+}
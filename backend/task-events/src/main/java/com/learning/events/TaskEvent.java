@@ -1,8 +1,9 @@
-package com.learning.taskmanagement.event;
+package com.learning.events;
 
 import java.time.LocalDateTime;
 
 public class TaskEvent {
+    private String eventId; // assigned by the publisher, lets consumers drop redeliveries; null from producers that predate it
     private Long taskId;
     private String title;
     private String description;
@@ -25,6 +26,14 @@ public class TaskEvent {
     }
 
     // Getters and Setters
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
     public Long getTaskId() {
         return taskId;
     }
@@ -76,7 +85,8 @@ public class TaskEvent {
     @Override
     public String toString() {
         return "TaskEvent{" +
-                "taskId=" + taskId +
+                "eventId='" + eventId + '\'' +
+                ", taskId=" + taskId +
                 ", title='" + title + '\'' +
                 ", eventType='" + eventType + '\'' +
                 ", timestamp=" + timestamp +
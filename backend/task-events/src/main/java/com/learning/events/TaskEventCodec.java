@@ -0,0 +1,131 @@
+package com.learning.events;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.GenericRecordBuilder;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes task events as Avro binary with a 5-byte header: a zero magic byte followed by the
+ * big-endian schema id. Decoding resolves the writer's schema against the latest one, so a
+ * consumer can read any older version as long as the evolution rules were followed.
+ */
+public class TaskEventCodec {
+
+    public static final byte MAGIC_BYTE = 0;
+
+    static final int HEADER_SIZE = 5;
+
+    public static final String EVENT_ID = "eventId";
+    public static final String TASK_ID = "taskId";
+    public static final String TITLE = "title";
+    public static final String DESCRIPTION = "description";
+    public static final String STATUS = "status";
+    public static final String EVENT_TYPE = "eventType";
+    public static final String TIMESTAMP = "timestamp";
+
+    static final String UNKNOWN_EVENT_TYPE = "UNKNOWN";
+
+    private final TaskEventSchemaRegistry registry;
+
+    private final Schema schema;
+
+    private final GenericDatumWriter<GenericRecord> writer;
+
+    private final Map<Integer, GenericDatumReader<GenericRecord>> readers = new ConcurrentHashMap<>();
+
+    public TaskEventCodec() {
+        this(new TaskEventSchemaRegistry());
+    }
+
+    public TaskEventCodec(TaskEventSchemaRegistry registry) {
+        this.registry = registry;
+        this.schema = registry.latest();
+        this.writer = new GenericDatumWriter<>(schema);
+    }
+
+    /**
+     * Builds a record of the latest schema; fields added later than the caller knows about get their defaults.
+     */
+    public GenericRecord newRecord(String eventId, Long taskId, String title, String description, String status,
+                                   String eventType, Instant timestamp) {
+        return new GenericRecordBuilder(schema)
+                .set(EVENT_ID, eventId)
+                .set(TASK_ID, taskId)
+                .set(TITLE, title)
+                .set(DESCRIPTION, description)
+                .set(STATUS, status)
+                .set(EVENT_TYPE, eventType(eventType))
+                .set(TIMESTAMP, timestamp == null ? 0L : timestamp.toEpochMilli())
+                .build();
+    }
+
+    public byte[] encode(GenericRecord record) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(MAGIC_BYTE);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(registry.latestId()).array());
+
+        try {
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+            writer.write(record, encoder);
+            encoder.flush();
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Cannot encode task event", e);
+        }
+        return out.toByteArray();
+    }
+
+    public GenericRecord decode(byte[] data) {
+        if (data == null || data.length < HEADER_SIZE || data[0] != MAGIC_BYTE) {
+            throw new SerializationException("Not an Avro-encoded task event");
+        }
+        int schemaId = ByteBuffer.wrap(data, 1, 4).getInt();
+
+        try {
+            BinaryDecoder decoder = DecoderFactory.get()
+                    .binaryDecoder(data, HEADER_SIZE, data.length - HEADER_SIZE, null);
+            return reader(schemaId).read(null, decoder);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Cannot decode task event with schema id " + schemaId, e);
+        }
+    }
+
+    public static String getString(GenericRecord record, String field) {
+        Object value = record.get(field);
+        return value == null ? null : value.toString();
+    }
+
+    public static Instant getTimestamp(GenericRecord record) {
+        return Instant.ofEpochMilli((Long) record.get(TIMESTAMP));
+    }
+
+    private GenericData.EnumSymbol eventType(String eventType) {
+        Schema enumSchema = schema.getField(EVENT_TYPE).schema();
+        String symbol = eventType != null && enumSchema.hasEnumSymbol(eventType) ? eventType : UNKNOWN_EVENT_TYPE;
+        return new GenericData.EnumSymbol(enumSchema, symbol);
+    }
+
+    private GenericDatumReader<GenericRecord> reader(int schemaId) {
+        return readers.computeIfAbsent(schemaId, id -> {
+            Schema writerSchema = registry.byId(id);
+            if (writerSchema == null) {
+                throw new SerializationException("Unknown task event schema id " + id);
+            }
+            return new GenericDatumReader<>(writerSchema, schema);
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.learning.events;
+
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Reads task events from the Avro format of the task-events topic.
+ * The UTC timestamp is converted to the reader's time zone.
+ */
+public class TaskEventDeserializer implements Deserializer<TaskEvent> {
+
+    private final TaskEventCodec codec;
+
+    public TaskEventDeserializer() {
+        this(new TaskEventCodec());
+    }
+
+    public TaskEventDeserializer(TaskEventCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public TaskEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+
+        GenericRecord record = codec.decode(data);
+        TaskEvent event = new TaskEvent();
+        event.setEventId(TaskEventCodec.getString(record, TaskEventCodec.EVENT_ID));
+        event.setTaskId((Long) record.get(TaskEventCodec.TASK_ID));
+        event.setTitle(TaskEventCodec.getString(record, TaskEventCodec.TITLE));
+        event.setDescription(TaskEventCodec.getString(record, TaskEventCodec.DESCRIPTION));
+        event.setStatus(TaskEventCodec.getString(record, TaskEventCodec.STATUS));
+        event.setEventType(TaskEventCodec.getString(record, TaskEventCodec.EVENT_TYPE));
+        event.setTimestamp(LocalDateTime.ofInstant(TaskEventCodec.getTimestamp(record), ZoneId.systemDefault()));
+        return event;
+    }
+}
@@ -0,0 +1,21 @@
+package com.learning.events;
+
+/**
+ * Kafka headers task-service stamps on every task event so consumers can break down its delivery latency.
+ * Values are epoch milliseconds encoded as UTF-8 decimal strings. The W3C {@code traceparent}
+ * header is added separately by the KafkaTemplate observation.
+ */
+public final class TaskEventHeaders {
+
+    /** When the event was raised inside the task-service transaction */
+    public static final String CREATED_AT = "x-task-created-at";
+
+    /** When the transaction that raised the event committed */
+    public static final String COMMITTED_AT = "x-task-committed-at";
+
+    /** When the event was handed to the Kafka producer */
+    public static final String PUBLISHED_AT = "x-task-published-at";
+
+    private TaskEventHeaders() {
+    }
+}
@@ -0,0 +1,62 @@
+package com.learning.events;
+
+import org.apache.avro.Schema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * File-backed stand-in for a schema registry. Every published version of the task event schema
+ * lives on the classpath as {@code avro/task-event/v<n>.avsc}; the version number doubles as the
+ * schema id written in front of each record. Versions are never edited once released.
+ */
+public class TaskEventSchemaRegistry {
+
+    static final String SCHEMA_LOCATION = "avro/task-event/v%d.avsc";
+
+    private final List<Schema> versions;
+
+    public TaskEventSchemaRegistry() {
+        this(TaskEventSchemaRegistry.class.getClassLoader());
+    }
+
+    TaskEventSchemaRegistry(ClassLoader classLoader) {
+        List<Schema> loaded = new ArrayList<>();
+        for (int id = 1; ; id++) {
+            try (InputStream in = classLoader.getResourceAsStream(String.format(SCHEMA_LOCATION, id))) {
+                if (in == null) {
+                    break;
+                }
+                loaded.add(new Schema.Parser().parse(in));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read task event schema v" + id, e);
+            }
+        }
+        if (loaded.isEmpty()) {
+            throw new IllegalStateException("No task event schema found on the classpath");
+        }
+        this.versions = Collections.unmodifiableList(loaded);
+    }
+
+    public int latestId() {
+        return versions.size();
+    }
+
+    public Schema latest() {
+        return versions.get(versions.size() - 1);
+    }
+
+    /**
+     * Returns the schema a record was written with, or null for an id this build does not know.
+     */
+    public Schema byId(int id) {
+        if (id < 1 || id > versions.size()) {
+            return null;
+        }
+        return versions.get(id - 1);
+    }
+}
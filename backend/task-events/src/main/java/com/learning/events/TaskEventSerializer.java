@@ -0,0 +1,39 @@
+package com.learning.events;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.time.ZoneId;
+
+/**
+ * Writes task events in the Avro format of the task-events topic, both when task-service publishes
+ * them and when notification-service forwards a failed one to a retry or dead-letter topic.
+ * The zoneless timestamp is interpreted in the writer's time zone and sent as UTC.
+ */
+public class TaskEventSerializer implements Serializer<TaskEvent> {
+
+    private final TaskEventCodec codec;
+
+    public TaskEventSerializer() {
+        this(new TaskEventCodec());
+    }
+
+    public TaskEventSerializer(TaskEventCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(String topic, TaskEvent event) {
+        if (event == null) {
+            return null;
+        }
+
+        return codec.encode(codec.newRecord(
+                event.getEventId(),
+                event.getTaskId(),
+                event.getTitle(),
+                event.getDescription(),
+                event.getStatus(),
+                event.getEventType(),
+                event.getTimestamp() == null ? null : event.getTimestamp().atZone(ZoneId.systemDefault()).toInstant()));
+    }
+}
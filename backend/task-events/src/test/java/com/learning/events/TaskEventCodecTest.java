@@ -0,0 +1,106 @@
+package com.learning.events;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.GenericRecordBuilder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskEventCodecTest {
+
+    private final TaskEventCodec codec = new TaskEventCodec();
+
+    @Test
+    void encodeDecode_roundTripsAllFields() {
+        Instant timestamp = Instant.ofEpochMilli(1700000000123L);
+        GenericRecord record = codec.newRecord("event-7", 7L, "title", "desc", "TODO", "UPDATED", timestamp);
+
+        GenericRecord decoded = codec.decode(codec.encode(record));
+
+        assertThat(TaskEventCodec.getString(decoded, TaskEventCodec.EVENT_ID)).isEqualTo("event-7");
+        assertThat(decoded.get(TaskEventCodec.TASK_ID)).isEqualTo(7L);
+        assertThat(TaskEventCodec.getString(decoded, TaskEventCodec.TITLE)).isEqualTo("title");
+        assertThat(TaskEventCodec.getString(decoded, TaskEventCodec.DESCRIPTION)).isEqualTo("desc");
+        assertThat(TaskEventCodec.getString(decoded, TaskEventCodec.STATUS)).isEqualTo("TODO");
+        assertThat(TaskEventCodec.getString(decoded, TaskEventCodec.EVENT_TYPE)).isEqualTo("UPDATED");
+        assertThat(TaskEventCodec.getTimestamp(decoded)).isEqualTo(timestamp);
+    }
+
+    @Test
+    void encode_writesMagicByteAndLatestSchemaId() {
+        byte[] data = codec.encode(codec.newRecord(null, 1L, "t", null, "TODO", "CREATED", Instant.now()));
+
+        assertThat(data[0]).isEqualTo(TaskEventCodec.MAGIC_BYTE);
+        assertThat(ByteBuffer.wrap(data, 1, 4).getInt()).isEqualTo(new TaskEventSchemaRegistry().latestId());
+    }
+
+    @Test
+    void newRecord_mapsUnrecognisedEventTypeToUnknown() {
+        GenericRecord decoded = codec.decode(codec.encode(
+                codec.newRecord(null, 1L, "t", null, "TODO", "ARCHIVED", Instant.now())));
+
+        assertThat(TaskEventCodec.getString(decoded, TaskEventCodec.EVENT_TYPE)).isEqualTo("UNKNOWN");
+        assertThat(decoded.get(TaskEventCodec.DESCRIPTION)).isNull();
+    }
+
+    @Test
+    void encode_isSmallerThanJson() {
+        byte[] data = codec.encode(codec.newRecord(null, 123L, "Write report", "Quarterly numbers", "IN_PROGRESS",
+                "UPDATED", Instant.now()));
+
+        String json = "{\"taskId\":123,\"title\":\"Write report\",\"description\":\"Quarterly numbers\","
+                + "\"status\":\"IN_PROGRESS\",\"eventType\":\"UPDATED\",\"timestamp\":\"2024-01-01T12:00:00.123456\"}";
+        assertThat(data.length).isLessThan(json.length() / 2);
+    }
+
+    @Test
+    void decode_rejectsForeignPayloads() {
+        assertThatThrownBy(() -> codec.decode("{\"taskId\":1}".getBytes()))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> codec.decode(new byte[]{0, 0, 0, 0}))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void decode_rejectsUnknownSchemaId() {
+        byte[] data = codec.encode(codec.newRecord(null, 1L, "t", null, "TODO", "CREATED", Instant.now()));
+        ByteBuffer.wrap(data).putInt(1, 99);
+
+        assertThatThrownBy(() -> codec.decode(data))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("99");
+    }
+
+    @Test
+    void decode_readsVersion1RecordsWithoutEventId() throws Exception {
+        Schema v1 = new TaskEventSchemaRegistry().byId(1);
+        GenericRecord record = new GenericRecordBuilder(v1)
+                .set(TaskEventCodec.TASK_ID, 1L)
+                .set(TaskEventCodec.TITLE, "t")
+                .set(TaskEventCodec.STATUS, "TODO")
+                .set(TaskEventCodec.EVENT_TYPE, new GenericData.EnumSymbol(v1.getField(TaskEventCodec.EVENT_TYPE).schema(), "CREATED"))
+                .set(TaskEventCodec.TIMESTAMP, 0L)
+                .build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(TaskEventCodec.MAGIC_BYTE);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(1).array());
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+        new GenericDatumWriter<GenericRecord>(v1).write(record, encoder);
+
+        GenericRecord decoded = codec.decode(out.toByteArray());
+
+        assertThat(decoded.get(TaskEventCodec.EVENT_ID)).isNull();
+        assertThat(decoded.get(TaskEventCodec.TASK_ID)).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,40 @@
+package com.learning.events;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskEventDeserializerTest {
+
+    private final TaskEventCodec codec = new TaskEventCodec();
+    private final TaskEventDeserializer deserializer = new TaskEventDeserializer(codec);
+
+    @Test
+    void deserialize_readsSharedAvroFormat() {
+        Instant timestamp = Instant.ofEpochMilli(1700000000123L);
+        byte[] data = codec.encode(codec.newRecord("event-1", 1L, "title", "desc", "IN_PROGRESS", "UPDATED", timestamp));
+
+        TaskEvent event = deserializer.deserialize("task-events", data);
+
+        assertThat(event.getEventId()).isEqualTo("event-1");
+        assertThat(event.getTaskId()).isEqualTo(1L);
+        assertThat(event.getTitle()).isEqualTo("title");
+        assertThat(event.getDescription()).isEqualTo("desc");
+        assertThat(event.getStatus()).isEqualTo("IN_PROGRESS");
+        assertThat(event.getEventType()).isEqualTo("UPDATED");
+        assertThat(event.getTimestamp()).isEqualTo(LocalDateTime.ofInstant(timestamp, ZoneId.systemDefault()));
+    }
+
+    @Test
+    void deserialize_rejectsJsonPayloads() {
+        assertThat(deserializer.deserialize("task-events", null)).isNull();
+        assertThatThrownBy(() -> deserializer.deserialize("task-events", "{\"taskId\":1}".getBytes()))
+                .isInstanceOf(SerializationException.class);
+    }
+}
@@ -0,0 +1,42 @@
+package com.learning.events;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaCompatibility;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskEventSchemaRegistryTest {
+
+    private final TaskEventSchemaRegistry registry = new TaskEventSchemaRegistry();
+
+    @Test
+    void loadsVersionsInOrder() {
+        assertThat(registry.latestId()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.byId(registry.latestId())).isSameAs(registry.latest());
+        assertThat(registry.byId(0)).isNull();
+        assertThat(registry.byId(registry.latestId() + 1)).isNull();
+    }
+
+    @Test
+    void latestSchemaCanReadEveryPublishedVersion() {
+        for (int id = 1; id <= registry.latestId(); id++) {
+            Schema writer = registry.byId(id);
+
+            assertThat(SchemaCompatibility.checkReaderWriterCompatibility(registry.latest(), writer).getType())
+                    .as("v%d readable by latest", id)
+                    .isEqualTo(SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE);
+        }
+    }
+
+    @Test
+    void everyVersionCanReadTheLatest() {
+        for (int id = 1; id <= registry.latestId(); id++) {
+            Schema reader = registry.byId(id);
+
+            assertThat(SchemaCompatibility.checkReaderWriterCompatibility(reader, registry.latest()).getType())
+                    .as("latest readable by v%d", id)
+                    .isEqualTo(SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE);
+        }
+    }
+}
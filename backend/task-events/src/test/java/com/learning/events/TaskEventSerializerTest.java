@@ -0,0 +1,45 @@
+package com.learning.events;
+
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskEventSerializerTest {
+
+    private final TaskEventCodec codec = new TaskEventCodec();
+    private final TaskEventSerializer serializer = new TaskEventSerializer(codec);
+
+    @Test
+    void serialize_writesSharedAvroFormat() {
+        TaskEvent event = new TaskEvent(1L, "title", "desc", "TODO", "CREATED");
+        event.setEventId("event-1");
+
+        GenericRecord record = codec.decode(serializer.serialize("task-events", event));
+
+        assertThat(TaskEventCodec.getString(record, TaskEventCodec.EVENT_ID)).isEqualTo("event-1");
+        assertThat(record.get(TaskEventCodec.TASK_ID)).isEqualTo(1L);
+        assertThat(TaskEventCodec.getString(record, TaskEventCodec.TITLE)).isEqualTo("title");
+        assertThat(TaskEventCodec.getString(record, TaskEventCodec.DESCRIPTION)).isEqualTo("desc");
+        assertThat(TaskEventCodec.getString(record, TaskEventCodec.STATUS)).isEqualTo("TODO");
+        assertThat(TaskEventCodec.getString(record, TaskEventCodec.EVENT_TYPE)).isEqualTo("CREATED");
+        assertThat(TaskEventCodec.getTimestamp(record))
+                .isEqualTo(event.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @Test
+    void serialize_handlesNullEventAndNullableFields() {
+        TaskEvent event = new TaskEvent(2L, "title", null, "DONE", "DELETED");
+        event.setTimestamp(LocalDateTime.of(2024, 1, 1, 12, 0));
+
+        GenericRecord record = codec.decode(serializer.serialize("task-events", event));
+
+        assertThat(serializer.serialize("task-events", null)).isNull();
+        assertThat(record.get(TaskEventCodec.EVENT_ID)).isNull();
+        assertThat(record.get(TaskEventCodec.DESCRIPTION)).isNull();
+    }
+}
@@ -1,4 +1,4 @@
-package com.learning.taskmanagement.event;
+package com.learning.events;
 
 import org.junit.jupiter.api.Test;
 
@@ -24,6 +24,12 @@ class TaskEventTest {
         assertThat(event.getTimestamp()).isNotNull();
     }
 
+    @Test
+    void constructors_leaveTheEventIdToThePublisher() {
+        assertThat(new TaskEvent(1L, "t", "d", "TODO", "CREATED").getEventId()).isNull();
+        assertThat(new TaskEvent().getEventId()).isNull();
+    }
+
     @Test
     void settersAndGetters_work() {
         TaskEvent event = new TaskEvent();
@@ -0,0 +1,28 @@
+package com.learning.taskmanagement.config;
+
+import com.learning.taskmanagement.id.GeneratedIdIdentifierGenerator;
+import com.learning.taskmanagement.id.IdGenerator;
+import com.learning.taskmanagement.id.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    // Unique per running instance; two instances with the same worker id can issue the same ids
+    @Value("${ids.worker-id:0}")
+    private int workerId;
+
+    @Value("${ids.max-clock-drift:5s}")
+    private Duration maxClockDrift;
+
+    @Bean
+    public IdGenerator idGenerator() {
+        IdGenerator idGenerator = new SnowflakeIdGenerator(workerId, maxClockDrift);
+        GeneratedIdIdentifierGenerator.install(idGenerator);
+        return idGenerator;
+    }
+}
@@ -3,6 +3,8 @@ package com.learning.taskmanagement.config;
 import io.minio.BucketExistsArgs;
 import io.minio.MakeBucketArgs;
 import io.minio.MinioClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +12,8 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class MinioConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(MinioConfig.class);
+
     @Value("${minio.url}")
     private String minioUrl;
 
@@ -39,9 +43,9 @@ public class MinioConfig {
                 minioClient.makeBucket(
                         MakeBucketArgs.builder().bucket(bucketName).build()
                 );
-                System.out.println("✅ Created MinIO bucket: " + bucketName);
+                logger.info("Created MinIO bucket: {}", bucketName);
             } else {
-                System.out.println("✅ MinIO bucket already exists: " + bucketName);
+                logger.info("MinIO bucket already exists: {}", bucketName);
             }
         } catch (Exception e) {
             throw new RuntimeException("Error initializing MinIO bucket", e);
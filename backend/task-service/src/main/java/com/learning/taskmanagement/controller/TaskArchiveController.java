@@ -0,0 +1,84 @@
+package com.learning.taskmanagement.controller;
+
+import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskArchiveSegment;
+import com.learning.taskmanagement.service.TaskArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/tasks/archive")
+public class TaskArchiveController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskArchiveController.class);
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final TaskArchiveService archiveService;
+
+    @Autowired
+    public TaskArchiveController(TaskArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+
+    /**
+     * Archive eligible done tasks now instead of waiting for the nightly run
+     */
+    @PostMapping("/run")
+    public ResponseEntity<Map<String, Integer>> archive(@RequestParam(defaultValue = "10") int maxSegments) {
+        try {
+            return ResponseEntity.ok(Map.of("archived", archiveService.archive(maxSegments)));
+        } catch (Exception e) {
+            logger.error("Task archival failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get an archived task by its id
+     */
+    @GetMapping("/{taskId}")
+    public ResponseEntity<Task> getArchivedTask(@PathVariable Long taskId) {
+        try {
+            Optional<Task> task = archiveService.findArchivedTask(taskId);
+            return task.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            logger.error("Could not read archived task {}", taskId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * List archive segments, optionally only those with tasks completed in [from, to)
+     */
+    @GetMapping("/segments")
+    public ResponseEntity<List<TaskArchiveSegment>> getSegments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(archiveService.findSegments(from, to));
+    }
+
+    /**
+     * Stream a segment's tasks as NDJSON, one task per line
+     */
+    @GetMapping("/segments/{segmentId}")
+    public ResponseEntity<StreamingResponseBody> getSegmentTasks(@PathVariable Long segmentId) {
+        return archiveService.findSegment(segmentId)
+                .map(segment -> ResponseEntity.ok()
+                        .contentType(NDJSON)
+                        .body((StreamingResponseBody) out -> archiveService.copySegment(segment, out)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
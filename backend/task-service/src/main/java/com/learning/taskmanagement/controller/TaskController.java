@@ -1,14 +1,26 @@
 package com.learning.taskmanagement.controller;
 
 import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskBatch;
+import com.learning.taskmanagement.model.TaskCursor;
+import com.learning.taskmanagement.model.TaskDetail;
+import com.learning.taskmanagement.model.TaskFilter;
+import com.learning.taskmanagement.model.TaskPage;
+import com.learning.taskmanagement.model.TaskSort;
+import com.learning.taskmanagement.model.TaskSummary;
+import com.learning.taskmanagement.service.TaskDetailService;
+import com.learning.taskmanagement.service.TaskQueryService;
 import com.learning.taskmanagement.service.TaskService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -16,27 +28,99 @@ public class TaskController {
 
     private final TaskService taskService;
 
+    private final TaskDetailService taskDetailService;
+
+    private final TaskQueryService taskQueryService;
+
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskDetailService taskDetailService,
+                          TaskQueryService taskQueryService) {
         this.taskService = taskService;
+        this.taskDetailService = taskDetailService;
+        this.taskQueryService = taskQueryService;
     }
 
+    /**
+     * Full tasks by default; with {@code fields} (any of {@link TaskSummary#FIELDS}, empty for all)
+     * only those fields of the lightweight summary are returned. {@code scope=active} leaves out
+     * done tasks unless a status is given.
+     */
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks(
+    public ResponseEntity<List<?>> getAllTasks(
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(defaultValue = "all") String scope) {
+
+        if (!scope.equals("all") && !scope.equals("active")) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean activeOnly = scope.equals("active");
+
+        if (fields != null) {
+            if (!TaskSummary.FIELDS.containsAll(fields)) {
+                return ResponseEntity.badRequest().build();
+            }
+            List<Map<String, Object>> summaries = taskService.getTaskSummaries(status, search, activeOnly).stream()
+                    .map(summary -> summary.select(fields))
+                    .toList();
+            return ResponseEntity.ok(summaries);
+        }
 
         List<Task> tasks;
-        if (status != null) {
+        if (status != null && search != null) {
+            tasks = taskService.searchTasksByStatus(status, search);
+        } else if (status != null) {
             tasks = taskService.getTasksByStatus(status);
         } else if (search != null) {
-            tasks = taskService.searchTasks(search);
+            tasks = activeOnly ? taskService.searchActiveTasks(search) : taskService.searchTasks(search);
         } else {
-            tasks = taskService.getAllTasks();
+            tasks = activeOnly ? taskService.getActiveTasks() : taskService.getAllTasks();
         }
         return ResponseEntity.ok(tasks);
     }
 
+    /**
+     * One page of tasks matching all given filters, in {@code sort} order. The returned
+     * {@code nextCursor} fetches the next page with the same filters and sort. Combinations no
+     * index supports (see {@code TaskIndex}) give 400.
+     */
+    @GetMapping("/query")
+    public ResponseEntity<TaskPage> queryTasks(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) String text,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedTo,
+            @RequestParam(defaultValue = "-updatedAt") String sort,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor) {
+
+        if (limit < 1 || limit > TaskPage.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            TaskSort taskSort = TaskSort.parse(sort);
+            TaskFilter filter = new TaskFilter(status, text, createdFrom, createdTo, updatedFrom, updatedTo);
+            TaskCursor after = cursor != null ? TaskCursor.decode(cursor, taskSort) : null;
+            return ResponseEntity.ok(taskQueryService.findTasks(filter, taskSort, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Up to {@link TaskBatch#MAX_IDS} tasks by id in one request, e.g. {@code ?ids=3,1,2}
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<TaskBatch> getTasksByIds(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > TaskBatch.MAX_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskService.getTasksByIds(ids));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
         return taskService.getTaskById(id)
@@ -44,6 +128,17 @@ public class TaskController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * The task with its attachments and their download URLs, in place of a task request,
+     * an attachments request and one URL request per attachment
+     */
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<TaskDetail> getTaskDetail(@PathVariable Long id) {
+        return taskDetailService.getTaskDetail(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping
     public ResponseEntity<Task> createTask(@Valid @RequestBody Task task) {
         Task createdTask = taskService.createTask(task);
@@ -0,0 +1,38 @@
+package com.learning.taskmanagement.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the calling client to the request thread for {@link ReadYourWritesTracker}. Clients are
+ * identified by the configured header, or by their address when they don't send it.
+ */
+public class ClientStickinessFilter extends OncePerRequestFilter {
+
+    private final ReadYourWritesTracker tracker;
+
+    private final String clientHeader;
+
+    public ClientStickinessFilter(ReadYourWritesTracker tracker, String clientHeader) {
+        this.tracker = tracker;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String client = request.getHeader(clientHeader);
+        tracker.bind(StringUtils.hasText(client) ? client : request.getRemoteAddr());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tracker.clear();
+        }
+    }
+}
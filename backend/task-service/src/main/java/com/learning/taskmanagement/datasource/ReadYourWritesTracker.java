@@ -0,0 +1,81 @@
+package com.learning.taskmanagement.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each client last wrote, so that client's reads stay on the primary until
+ * the replicas have had time to catch up. The client of the current thread is bound by
+ * {@link ClientStickinessFilter}; threads without a client are never sticky.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int MAX_CLIENTS = 100_000;
+
+    private final ThreadLocal<String> currentClient = new ThreadLocal<>();
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private final long windowMs;
+
+    private final Clock clock;
+
+    public ReadYourWritesTracker(Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    ReadYourWritesTracker(Duration window, Clock clock) {
+        this.windowMs = window.toMillis();
+        this.clock = clock;
+    }
+
+    public void bind(String client) {
+        currentClient.set(client);
+    }
+
+    public void clear() {
+        currentClient.remove();
+    }
+
+    public String currentClient() {
+        return currentClient.get();
+    }
+
+    /**
+     * Starts the sticky window for the current client.
+     */
+    public void recordWrite() {
+        String client = currentClient.get();
+        if (client == null || windowMs <= 0) {
+            return;
+        }
+
+        long now = clock.millis();
+        if (lastWrites.size() >= MAX_CLIENTS) {
+            lastWrites.values().removeIf(writtenAt -> writtenAt + windowMs <= now);
+        }
+        lastWrites.put(client, now);
+    }
+
+    /**
+     * Returns true if the current client wrote within the window and must not read from a replica.
+     */
+    public boolean isSticky() {
+        String client = currentClient.get();
+        if (client == null) {
+            return false;
+        }
+
+        Long writtenAt = lastWrites.get(client);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (writtenAt + windowMs <= clock.millis()) {
+            lastWrites.remove(client, writtenAt);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,82 @@
+package com.learning.taskmanagement.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ * The transaction's read-only flag is only known once it has begun, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers the
+ * lookup to the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    public static final String REPLICA = "replica";
+
+    private final ReadYourWritesTracker tracker;
+
+    private final Counter primaryRoutes;
+
+    private final Counter replicaRoutes;
+
+    private final Counter stickyRoutes;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReadYourWritesTracker tracker, MeterRegistry meterRegistry) {
+        this.tracker = tracker;
+        this.primaryRoutes = routes(meterRegistry, PRIMARY, false);
+        this.replicaRoutes = routes(meterRegistry, REPLICA, false);
+        this.stickyRoutes = routes(meterRegistry, PRIMARY, true);
+
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            startStickyWindow();
+            primaryRoutes.increment();
+            return PRIMARY;
+        }
+        if (tracker.isSticky()) {
+            stickyRoutes.increment();
+            return PRIMARY;
+        }
+        replicaRoutes.increment();
+        return REPLICA;
+    }
+
+    private void startStickyWindow() {
+        if (tracker.currentClient() == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tracker.recordWrite();
+            return;
+        }
+        // Measured from the commit, which is when the replicas start replaying the write
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tracker.recordWrite();
+            }
+        });
+    }
+
+    private static Counter routes(MeterRegistry meterRegistry, String pool, boolean sticky) {
+        return Counter.builder("datasource.routing")
+                .description("Connections handed out per pool, sticky=true for reads kept on the primary after a write")
+                .tag("pool", pool)
+                .tag("sticky", String.valueOf(sticky))
+                .register(meterRegistry);
+    }
+}
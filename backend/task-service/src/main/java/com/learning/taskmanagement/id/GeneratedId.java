@@ -0,0 +1,18 @@
+package com.learning.taskmanagement.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns the id from the installed {@link IdGenerator} when the entity is persisted, so it is
+ * known before the insert and inserts can be batched.
+ */
+@IdGeneratorType(GeneratedIdIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface GeneratedId {
+}
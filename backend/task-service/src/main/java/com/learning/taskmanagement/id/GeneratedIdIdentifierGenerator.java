@@ -0,0 +1,24 @@
+package com.learning.taskmanagement.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.time.Duration;
+
+/**
+ * Hibernate side of {@link GeneratedId}. Hibernate creates this class itself, so the Spring
+ * managed generator is handed over through {@link #install}; until then worker 0 is used.
+ */
+public class GeneratedIdIdentifierGenerator implements IdentifierGenerator {
+
+    private static volatile IdGenerator generator = new SnowflakeIdGenerator(0, Duration.ofSeconds(5));
+
+    public static void install(IdGenerator idGenerator) {
+        generator = idGenerator;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return generator.nextId();
+    }
+}
@@ -0,0 +1,9 @@
+package com.learning.taskmanagement.id;
+
+/**
+ * Source of entity ids assigned before the insert, see {@link GeneratedId}.
+ */
+public interface IdGenerator {
+
+    long nextId();
+}
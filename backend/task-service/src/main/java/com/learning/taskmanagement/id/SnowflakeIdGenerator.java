@@ -0,0 +1,100 @@
+package com.learning.taskmanagement.id;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered ids built from milliseconds since {@link #EPOCH}, a worker id and a per-millisecond
+ * sequence. Ids fit in 53 bits, so they survive JSON clients that parse numbers as doubles:
+ *
+ * <pre>
+ * | 41 bits: ms since epoch (~69 years) | 5 bits: worker (0-31) | 7 bits: sequence (128/ms) |
+ * </pre>
+ *
+ * Generation is lock-free. When the clock steps back, or 128 ids were handed out within one
+ * millisecond, the generator keeps counting on its own last timestamp instead of waiting; it only
+ * refuses once that timestamp runs more than the allowed drift ahead of the wall clock.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    public static final Instant EPOCH = Instant.parse("2026-01-01T00:00:00Z");
+
+    static final int WORKER_BITS = 5;
+
+    static final int SEQUENCE_BITS = 7;
+
+    public static final int MAX_WORKER_ID = (1 << WORKER_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final long MAX_TIMESTAMP = (1L << 41) - 1;
+
+    private final long workerId;
+
+    private final long maxDriftMs;
+
+    private final LongSupplier clock;
+
+    // Last issued timestamp and sequence, packed as (timestamp << SEQUENCE_BITS) | sequence
+    private final AtomicLong last = new AtomicLong();
+
+    public SnowflakeIdGenerator(int workerId, Duration maxDrift) {
+        this(workerId, maxDrift, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(int workerId, Duration maxDrift, LongSupplier clock) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("Worker id must be between 0 and " + MAX_WORKER_ID + ": " + workerId);
+        }
+        this.workerId = workerId;
+        this.maxDriftMs = maxDrift.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        long now = clock.getAsLong() - EPOCH.toEpochMilli();
+        while (true) {
+            long previous = last.get();
+            long previousTimestamp = previous >>> SEQUENCE_BITS;
+
+            long next;
+            if (now > previousTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                // Clock stepped back or this millisecond is used up: continue from the last id,
+                // which rolls over into the next millisecond when the sequence is exhausted
+                next = previous + 1;
+                long drift = (next >>> SEQUENCE_BITS) - now;
+                if (drift > maxDriftMs) {
+                    throw new IllegalStateException("Ids would run " + drift
+                            + " ms ahead of the clock, more than the allowed " + maxDriftMs + " ms");
+                }
+            }
+            if ((next >>> SEQUENCE_BITS) > MAX_TIMESTAMP) {
+                throw new IllegalStateException("Id timestamp space exhausted");
+            }
+            if (last.compareAndSet(previous, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & SEQUENCE_MASK;
+                return (timestamp << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    /**
+     * The creation time encoded in an id, e.g. to turn a timestamp into a keyset bound.
+     */
+    public static Instant timestampOf(long id) {
+        return EPOCH.plusMillis(id >>> (WORKER_BITS + SEQUENCE_BITS));
+    }
+
+    /**
+     * The smallest id any worker can issue at the given time.
+     */
+    public static long minIdAt(Instant time) {
+        return Math.max(0, time.toEpochMilli() - EPOCH.toEpochMilli()) << (WORKER_BITS + SEQUENCE_BITS);
+    }
+}
@@ -0,0 +1,77 @@
+package com.learning.taskmanagement.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Where an archived task is stored: its segment and zero-based line within the segment.
+ */
+@Entity
+@Table(name = "archived_tasks")
+public class ArchivedTask implements Persistable<Long> {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "segment_id", nullable = false)
+    private Long segmentId;
+
+    @Column(name = "line_number", nullable = false)
+    private Integer lineNumber;
+
+    // The id is the task's own, so it can't tell new rows apart; rows are only ever inserted
+    @Transient
+    private boolean isNew = true;
+
+    // Constructors
+    public ArchivedTask() {
+    }
+
+    public ArchivedTask(Long taskId, Long segmentId, Integer lineNumber) {
+        this.taskId = taskId;
+        this.segmentId = segmentId;
+        this.lineNumber = lineNumber;
+    }
+
+    @Override
+    public Long getId() {
+        return taskId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    // Getters and Setters
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getSegmentId() {
+        return segmentId;
+    }
+
+    public void setSegmentId(Long segmentId) {
+        this.segmentId = segmentId;
+    }
+
+    public Integer getLineNumber() {
+        return lineNumber;
+    }
+
+    public void setLineNumber(Integer lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+}
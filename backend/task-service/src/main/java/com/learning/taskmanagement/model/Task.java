@@ -1,15 +1,26 @@
 package com.learning.taskmanagement.model;
 
+import com.learning.taskmanagement.id.GeneratedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
 @Table(name = "tasks")
 public class Task {
 
+    /**
+     * Statuses of the tasks_active partition; queries restricted to them skip the done tasks.
+     */
+    public static final List<String> ACTIVE_STATUSES = List.of("TODO", "IN_PROGRESS");
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedId
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -25,7 +36,7 @@ public class Task {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @Column(name = "updated_at")
+    @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
     // Constructors
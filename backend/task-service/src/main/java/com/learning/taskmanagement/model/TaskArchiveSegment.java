@@ -0,0 +1,119 @@
+package com.learning.taskmanagement.model;
+
+import com.learning.taskmanagement.id.GeneratedId;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One gzipped NDJSON object in MinIO holding archived done tasks, one task per line in id order.
+ */
+@Entity
+@Table(name = "task_archive_segments")
+public class TaskArchiveSegment {
+
+    @Id
+    @GeneratedId
+    private Long id;
+
+    @Column(name = "object_name", nullable = false)
+    private String objectName;
+
+    @Column(name = "task_count", nullable = false)
+    private Integer taskCount;
+
+    @Column(name = "min_task_id", nullable = false)
+    private Long minTaskId;
+
+    @Column(name = "max_task_id", nullable = false)
+    private Long maxTaskId;
+
+    @Column(name = "min_updated_at")
+    private LocalDateTime minUpdatedAt;
+
+    @Column(name = "max_updated_at")
+    private LocalDateTime maxUpdatedAt;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Constructors
+    public TaskArchiveSegment() {
+        this.archivedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    public void setObjectName(String objectName) {
+        this.objectName = objectName;
+    }
+
+    public Integer getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(Integer taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public Long getMinTaskId() {
+        return minTaskId;
+    }
+
+    public void setMinTaskId(Long minTaskId) {
+        this.minTaskId = minTaskId;
+    }
+
+    public Long getMaxTaskId() {
+        return maxTaskId;
+    }
+
+    public void setMaxTaskId(Long maxTaskId) {
+        this.maxTaskId = maxTaskId;
+    }
+
+    public LocalDateTime getMinUpdatedAt() {
+        return minUpdatedAt;
+    }
+
+    public void setMinUpdatedAt(LocalDateTime minUpdatedAt) {
+        this.minUpdatedAt = minUpdatedAt;
+    }
+
+    public LocalDateTime getMaxUpdatedAt() {
+        return maxUpdatedAt;
+    }
+
+    public void setMaxUpdatedAt(LocalDateTime maxUpdatedAt) {
+        this.maxUpdatedAt = maxUpdatedAt;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
@@ -1,14 +1,19 @@
 package com.learning.taskmanagement.model;
 
+import com.learning.taskmanagement.id.GeneratedId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task-attachments")
 @Table(name = "task_attachments")
 public class TaskAttachment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedId
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,12 @@
+package com.learning.taskmanagement.model;
+
+import java.util.List;
+
+/**
+ * Result of a multi-get: the tasks found, in the order their ids were requested, and the
+ * requested ids that matched no task.
+ */
+public record TaskBatch(List<Task> tasks, List<Long> missing) {
+
+    public static final int MAX_IDS = 100;
+}
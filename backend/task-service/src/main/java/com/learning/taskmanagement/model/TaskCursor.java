@@ -0,0 +1,38 @@
+package com.learning.taskmanagement.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position after the last task of a page: its sort value and id. Clients get it as an
+ * opaque token that is only valid with the sort it was issued for.
+ */
+public record TaskCursor(TaskSort sort, LocalDateTime value, Long id) {
+
+    public static TaskCursor after(TaskSort sort, Task task) {
+        return new TaskCursor(sort, sort.key().valueOf(task), task.getId());
+    }
+
+    public String encode() {
+        String raw = sort + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token, TaskSort sort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        if (parts.length != 3 || !parts[0].equals(sort.toString())) {
+            throw new IllegalArgumentException("Cursor does not belong to sort " + sort);
+        }
+        try {
+            return new TaskCursor(sort, LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
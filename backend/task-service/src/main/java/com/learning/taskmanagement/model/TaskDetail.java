@@ -0,0 +1,15 @@
+package com.learning.taskmanagement.model;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import java.util.List;
+
+/**
+ * Everything needed to open a task: its fields plus its attachments, each with a presigned
+ * download URL, or null when signing that one failed.
+ */
+public record TaskDetail(@JsonUnwrapped Task task, List<Attachment> attachments) {
+
+    public record Attachment(@JsonUnwrapped TaskAttachment attachment, String url) {
+    }
+}
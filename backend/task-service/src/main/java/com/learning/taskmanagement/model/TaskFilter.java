@@ -0,0 +1,29 @@
+package com.learning.taskmanagement.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Criteria of a task list query, all optional and combined with AND. Statuses match any of the
+ * given values, text matches title or description case-insensitively, and each date range is
+ * [from, to).
+ */
+public record TaskFilter(List<String> statuses,
+                         String text,
+                         LocalDateTime createdFrom,
+                         LocalDateTime createdTo,
+                         LocalDateTime updatedFrom,
+                         LocalDateTime updatedTo) {
+
+    public TaskFilter {
+        statuses = statuses == null ? List.of() : List.copyOf(statuses);
+    }
+
+    public boolean hasCreatedRange() {
+        return createdFrom != null || createdTo != null;
+    }
+
+    public boolean hasUpdatedRange() {
+        return updatedFrom != null || updatedTo != null;
+    }
+}
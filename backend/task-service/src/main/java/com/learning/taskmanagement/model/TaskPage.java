@@ -0,0 +1,12 @@
+package com.learning.taskmanagement.model;
+
+import java.util.List;
+
+/**
+ * One page of a task list query; {@code nextCursor} fetches the following page and is null on
+ * the last one.
+ */
+public record TaskPage(List<Task> tasks, String nextCursor) {
+
+    public static final int MAX_LIMIT = 200;
+}
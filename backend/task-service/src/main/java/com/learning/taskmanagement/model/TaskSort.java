@@ -0,0 +1,52 @@
+package com.learning.taskmanagement.model;
+
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order of a task list query, written {@code updatedAt} or {@code -updatedAt} for descending.
+ * Ties are broken by id in the same direction, so every task has a unique position to resume from.
+ */
+public record TaskSort(Key key, boolean descending) {
+
+    public enum Key {
+        CREATED_AT("createdAt"),
+        UPDATED_AT("updatedAt");
+
+        private final String property;
+
+        Key(String property) {
+            this.property = property;
+        }
+
+        public String property() {
+            return property;
+        }
+
+        public LocalDateTime valueOf(Task task) {
+            return this == CREATED_AT ? task.getCreatedAt() : task.getUpdatedAt();
+        }
+    }
+
+    public static TaskSort parse(String value) {
+        boolean descending = value.startsWith("-");
+        String property = descending ? value.substring(1) : value;
+        for (Key key : Key.values()) {
+            if (key.property.equals(property)) {
+                return new TaskSort(key, descending);
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort key: " + property);
+    }
+
+    public Sort toSort() {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, key.property, "id");
+    }
+
+    @Override
+    public String toString() {
+        return (descending ? "-" : "") + key.property;
+    }
+}
@@ -0,0 +1,40 @@
+package com.learning.taskmanagement.model;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * List view of a task. Read through a constructor expression, so only these columns are
+ * selected and no managed entity ends up in the persistence context.
+ */
+public record TaskSummary(Long id, String title, String status, LocalDateTime updatedAt, long attachmentCount) {
+
+    public static final List<String> FIELDS = List.of("id", "title", "status", "updatedAt", "attachmentCount");
+
+    /**
+     * Returns the requested fields in declaration order; no fields selects all of them.
+     */
+    public Map<String, Object> select(Collection<String> fields) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (String field : FIELDS) {
+            if (fields.isEmpty() || fields.contains(field)) {
+                selected.put(field, value(field));
+            }
+        }
+        return selected;
+    }
+
+    private Object value(String field) {
+        return switch (field) {
+            case "id" -> id;
+            case "title" -> title;
+            case "status" -> status;
+            case "updatedAt" -> updatedAt;
+            case "attachmentCount" -> attachmentCount;
+            default -> throw new IllegalArgumentException("Unknown task field: " + field);
+        };
+    }
+}
@@ -0,0 +1,201 @@
+package com.learning.taskmanagement.producer;
+
+import com.learning.events.TaskEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds each task's committed events for a fixed window from its first event and publishes
+ * one event with the task's final state when the window closes, so a burst of updates (e.g.
+ * dragging a card across the board) costs one event per task instead of one per call.
+ * A task created and deleted within one window is never published. At most
+ * {@code maxPending} tasks are held; beyond that the oldest is published early. Pending events
+ * are only published by {@link #close()} on a graceful shutdown; a crash loses up to one window
+ * of committed events.
+ */
+public class TaskEventCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventCoalescer.class);
+
+    private static final long MIN_TICK_MS = 10;
+
+    @FunctionalInterface
+    public interface Publisher {
+        void publish(TaskEvent event, long createdAt, long committedAt);
+    }
+
+    private final long windowMs;
+
+    private final int maxPending;
+
+    private final Publisher publisher;
+
+    private final LongSupplier clock;
+
+    private final Counter coalesced;
+
+    private final Counter overflowed;
+
+    private final ScheduledExecutorService scheduler;
+
+    // Insertion order is first-event order, so the head is always the next task due
+    private final LinkedHashMap<Long, PendingEvent> pending = new LinkedHashMap<>();
+
+    public TaskEventCoalescer(Duration window, int maxPending, Publisher publisher, MeterRegistry meterRegistry) {
+        this(window, maxPending, publisher, meterRegistry, System::currentTimeMillis);
+        long tickMs = Math.max(MIN_TICK_MS, windowMs / 5);
+        scheduler.scheduleWithFixedDelay(this::flushDue, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    TaskEventCoalescer(Duration window, int maxPending, Publisher publisher, MeterRegistry meterRegistry,
+                       LongSupplier clock) {
+        this.windowMs = window.toMillis();
+        this.maxPending = maxPending;
+        this.publisher = publisher;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-event-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.coalesced = Counter.builder("task.events.coalesced")
+                .description("Task events merged into a pending event of the same task")
+                .register(meterRegistry);
+        this.overflowed = Counter.builder("task.events.coalescer.overflow")
+                .description("Pending task events published early because the coalescer was full")
+                .register(meterRegistry);
+        Gauge.builder("task.events.coalescer.pending", this, TaskEventCoalescer::pendingCount)
+                .description("Tasks with an event waiting for its coalescing window to close")
+                .register(meterRegistry);
+    }
+
+    public void submit(TaskEvent event, long createdAt, long committedAt) {
+        PendingEvent evicted = null;
+        synchronized (this) {
+            PendingEvent current = pending.get(event.getTaskId());
+            if (current != null) {
+                if (current.isCreated() && "DELETED".equals(event.getEventType())) {
+                    // No consumer has seen the task yet, so there is nothing to announce
+                    pending.remove(event.getTaskId());
+                } else {
+                    current.merge(event, createdAt, committedAt);
+                }
+                coalesced.increment();
+                return;
+            }
+
+            if (pending.size() >= maxPending) {
+                Iterator<PendingEvent> eldest = pending.values().iterator();
+                evicted = eldest.next();
+                eldest.remove();
+            }
+            pending.put(event.getTaskId(), new PendingEvent(event, createdAt, committedAt, clock.getAsLong()));
+        }
+
+        if (evicted != null) {
+            overflowed.increment();
+            evicted.publish(publisher);
+        }
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Publishes every task whose window has closed.
+     */
+    void flushDue() {
+        List<PendingEvent> due = new ArrayList<>();
+        long now = clock.getAsLong();
+        synchronized (this) {
+            Iterator<PendingEvent> eldest = pending.values().iterator();
+            while (eldest.hasNext()) {
+                PendingEvent next = eldest.next();
+                if (next.firstSeenAt + windowMs > now) {
+                    break;
+                }
+                due.add(next);
+                eldest.remove();
+            }
+        }
+        publishAll(due);
+    }
+
+    /**
+     * Stops the flush timer and publishes everything still pending.
+     */
+    public void close() {
+        scheduler.shutdown();
+        List<PendingEvent> remaining;
+        synchronized (this) {
+            remaining = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        publishAll(remaining);
+    }
+
+    private void publishAll(List<PendingEvent> events) {
+        for (PendingEvent event : events) {
+            try {
+                event.publish(publisher);
+            } catch (RuntimeException e) {
+                logger.error("Failed to publish coalesced task event: {}", event.event, e);
+            }
+        }
+    }
+
+    private static final class PendingEvent {
+
+        private final long firstSeenAt;
+
+        private TaskEvent event;
+
+        private long createdAt;
+
+        private long committedAt;
+
+        private PendingEvent(TaskEvent event, long createdAt, long committedAt, long firstSeenAt) {
+            this.event = event;
+            this.createdAt = createdAt;
+            this.committedAt = committedAt;
+            this.firstSeenAt = firstSeenAt;
+        }
+
+        private boolean isCreated() {
+            return "CREATED".equals(event.getEventType());
+        }
+
+        /**
+         * The newer event carries the task's final state; a task created inside the window is
+         * still announced as CREATED.
+         */
+        private void merge(TaskEvent next, long nextCreatedAt, long nextCommittedAt) {
+            if (isCreated()) {
+                next.setEventType("CREATED");
+            }
+            event = next;
+            createdAt = nextCreatedAt;
+            committedAt = nextCommittedAt;
+        }
+
+        private void publish(Publisher publisher) {
+            publisher.publish(event, createdAt, committedAt);
+        }
+    }
+}
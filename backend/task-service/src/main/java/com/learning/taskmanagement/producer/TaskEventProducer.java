@@ -1,6 +1,11 @@
 package com.learning.taskmanagement.producer;
 
-import com.learning.taskmanagement.event.TaskEvent;
+import com.learning.events.TaskEvent;
+import com.learning.events.TaskEventHeaders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +15,12 @@ import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
 
 @Service
 public class TaskEventProducer {
@@ -21,21 +32,102 @@ public class TaskEventProducer {
 
     private final KafkaTemplate<String, TaskEvent> kafkaTemplate;
 
+    private final MeterRegistry meterRegistry;
+
+    private final Counter sendErrors;
+
+    private final TaskEventCoalescer coalescer;
+
+    public TaskEventProducer(KafkaTemplate<String, TaskEvent> kafkaTemplate, MeterRegistry meterRegistry) {
+        this(kafkaTemplate, meterRegistry, Duration.ZERO, 0);
+    }
+
+    /**
+     * With a positive {@code coalesceWindow}, committed events are merged per task for that
+     * window before they are published; zero publishes every event right after its commit.
+     */
     @Autowired
-    public TaskEventProducer(KafkaTemplate<String, TaskEvent> kafkaTemplate) {
+    public TaskEventProducer(KafkaTemplate<String, TaskEvent> kafkaTemplate, MeterRegistry meterRegistry,
+                             @Value("${kafka.producer.coalesce-window:500ms}") Duration coalesceWindow,
+                             @Value("${kafka.producer.coalesce-max-pending:10000}") int coalesceMaxPending) {
         this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.sendErrors = Counter.builder("task.events.send.errors")
+                .description("Task events the broker did not acknowledge")
+                .register(meterRegistry);
+        this.coalescer = coalesceWindow.isZero() || coalesceWindow.isNegative() ? null
+                : new TaskEventCoalescer(coalesceWindow, coalesceMaxPending, this::publish, meterRegistry);
     }
 
+    /**
+     * Publishes the event once the surrounding transaction commits, or right away outside one,
+     * so consumers never see changes that were rolled back. Events without an id get one here.
+     */
     public void sendTaskEvent(TaskEvent event) {
+        long createdAt = System.currentTimeMillis();
+        if (event.getEventId() == null) {
+            event.setEventId(UUID.randomUUID().toString());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committed(event, createdAt, System.currentTimeMillis());
+                }
+            });
+        } else {
+            committed(event, createdAt, createdAt);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (coalescer != null) {
+            coalescer.close();
+        }
+    }
+
+    private void committed(TaskEvent event, long createdAt, long committedAt) {
+        if (coalescer != null) {
+            coalescer.submit(event, createdAt, committedAt);
+        } else {
+            publish(event, createdAt, committedAt);
+        }
+    }
+
+    private void publish(TaskEvent event, long createdAt, long committedAt) {
         logger.info("Sending task event: {}", event);
 
         Message<TaskEvent> message = MessageBuilder
                 .withPayload(event)
                 .setHeader(KafkaHeaders.TOPIC, taskEventsTopic)
                 .setHeader(KafkaHeaders.KEY, event.getTaskId().toString())
+                .setHeader(TaskEventHeaders.CREATED_AT, epochMillis(createdAt))
+                .setHeader(TaskEventHeaders.COMMITTED_AT, epochMillis(committedAt))
+                .setHeader(TaskEventHeaders.PUBLISHED_AT, epochMillis(System.currentTimeMillis()))
                 .build();
 
-        kafkaTemplate.send(message);
-        logger.info("Task event sent successfully");
+        // Latency is measured until the broker acknowledges the record
+        Timer.Sample sample = Timer.start(meterRegistry);
+        kafkaTemplate.send(message).whenComplete((result, ex) -> {
+            sample.stop(Timer.builder("task.events.send")
+                    .description("Time from send to broker acknowledgement")
+                    .tag("event.type", String.valueOf(event.getEventType()))
+                    .tag("outcome", ex == null ? "success" : "error")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+
+            if (ex == null) {
+                logger.info("Task event sent successfully");
+            } else {
+                sendErrors.increment();
+                logger.error("Failed to send task event: {}", event, ex);
+            }
+        });
+    }
+
+    private static byte[] epochMillis(long millis) {
+        return Long.toString(millis).getBytes(StandardCharsets.UTF_8);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package com.learning.taskmanagement.repository;
+
+import com.learning.taskmanagement.model.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+}
@@ -0,0 +1,14 @@
+package com.learning.taskmanagement.repository;
+
+import com.learning.taskmanagement.model.TaskArchiveSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskArchiveSegmentRepository extends JpaRepository<TaskArchiveSegment, Long> {
+    // Segments that may hold tasks completed in [from, to)
+    List<TaskArchiveSegment> findByMaxUpdatedAtGreaterThanEqualAndMinUpdatedAtLessThanOrderByIdAsc(
+            LocalDateTime from, LocalDateTime to);
+}
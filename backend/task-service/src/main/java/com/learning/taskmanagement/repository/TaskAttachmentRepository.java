@@ -1,12 +1,19 @@
 package com.learning.taskmanagement.repository;
 
 import com.learning.taskmanagement.model.TaskAttachment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface TaskAttachmentRepository extends JpaRepository<TaskAttachment, Long> {
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "task-queries")
+    })
     List<TaskAttachment> findByTaskId(Long taskId);
     void deleteByTaskId(Long taskId);
 }
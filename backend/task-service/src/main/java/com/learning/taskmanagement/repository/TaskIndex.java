@@ -0,0 +1,59 @@
+package com.learning.taskmanagement.repository;
+
+import com.learning.taskmanagement.model.TaskFilter;
+import com.learning.taskmanagement.model.TaskSort;
+
+/**
+ * The task indexes a list query can walk in sort order (see V6__add_task_listing_indexes): an
+ * optional status column, then the sort column, then id for keyset pagination. A query is only
+ * accepted when one of them lets the database read a page by walking the index and stopping
+ * after the limit, instead of sorting every match.
+ */
+public enum TaskIndex {
+
+    CREATED_AT("idx_tasks_created_at", false, TaskSort.Key.CREATED_AT),
+    UPDATED_AT("idx_tasks_updated_at", false, TaskSort.Key.UPDATED_AT),
+    STATUS_CREATED_AT("idx_tasks_status_created_at", true, TaskSort.Key.CREATED_AT),
+    STATUS_UPDATED_AT("idx_tasks_status_updated_at", true, TaskSort.Key.UPDATED_AT);
+
+    private final String indexName;
+
+    private final boolean leadingStatus;
+
+    private final TaskSort.Key sortKey;
+
+    TaskIndex(String indexName, boolean leadingStatus, TaskSort.Key sortKey) {
+        this.indexName = indexName;
+        this.leadingStatus = leadingStatus;
+        this.sortKey = sortKey;
+    }
+
+    public String indexName() {
+        return indexName;
+    }
+
+    /**
+     * The index serving the query, or IllegalArgumentException naming what is unsupported. Date
+     * ranges have to be on the sort column, where they bound the index scan; text matching is
+     * applied to the rows the scan reads. Only a single status can lead the index: the entries of
+     * several statuses are separate runs that are not in sort order together, so those queries
+     * walk the sort-column index and filter the statuses like text.
+     */
+    public static TaskIndex supporting(TaskFilter filter, TaskSort sort) {
+        if (filter.hasCreatedRange() && sort.key() != TaskSort.Key.CREATED_AT) {
+            throw new IllegalArgumentException("createdAt ranges need sort=createdAt or sort=-createdAt");
+        }
+        if (filter.hasUpdatedRange() && sort.key() != TaskSort.Key.UPDATED_AT) {
+            throw new IllegalArgumentException("updatedAt ranges need sort=updatedAt or sort=-updatedAt");
+        }
+
+        boolean byStatus = filter.statuses().size() == 1;
+        for (TaskIndex index : values()) {
+            if (index.leadingStatus == byStatus && index.sortKey == sort.key()) {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException("No index supports " + (byStatus ? "status filters sorted by " : "sorting by ")
+                + sort.key().property());
+    }
+}
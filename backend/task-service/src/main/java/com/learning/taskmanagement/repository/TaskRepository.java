@@ -1,12 +1,74 @@
 package com.learning.taskmanagement.repository;
 
 import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+    // Cached query results hold only ids; Hibernate drops them whenever the tasks table is written
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "task-queries")
+    })
     List<Task> findByStatus(String status);
     List<Task> findByTitleContainingIgnoreCase(String title);
+    List<Task> findByStatusAndTitleContainingIgnoreCase(String status, String title);
+
+    // Status lists that match a partition's values let Postgres prune the other partitions
+    List<Task> findByStatusIn(Collection<String> statuses);
+    List<Task> findByStatusInAndTitleContainingIgnoreCase(Collection<String> statuses, String title);
+
+    // Archival: the oldest done tasks first, and a delete that skips tasks changed since they were read
+    List<Task> findByStatusAndUpdatedAtBeforeOrderByIdAsc(String status, LocalDateTime before, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id IN :ids AND t.status = :status AND t.updatedAt < :before")
+    int deleteUnchanged(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                        @Param("before") LocalDateTime before);
+
+    // List views: DTO projections that skip the description and the persistence context. Attachment
+    // counts come from one grouped pass over task_attachments joined in, not a lookup per task.
+    String SUMMARY_SELECT = "SELECT new com.learning.taskmanagement.model.TaskSummary("
+            + "t.id, t.title, t.status, t.updatedAt, COALESCE(c.attachments, 0)) FROM Task t"
+            + " LEFT JOIN (SELECT a.taskId AS taskId, COUNT(a) AS attachments FROM TaskAttachment a"
+            + " GROUP BY a.taskId) c ON c.taskId = t.id";
+
+    String TITLE_CONTAINS = "LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%'))";
+
+    @Query(SUMMARY_SELECT)
+    List<TaskSummary> findSummariesBy();
+
+    @Query(SUMMARY_SELECT + " WHERE t.status = :status")
+    List<TaskSummary> findSummariesByStatus(@Param("status") String status);
+
+    @Query(SUMMARY_SELECT + " WHERE t.status = :status AND " + TITLE_CONTAINS)
+    List<TaskSummary> findSummariesByStatusAndTitleContainingIgnoreCase(@Param("status") String status,
+                                                                       @Param("title") String title);
+
+    @Query(SUMMARY_SELECT + " WHERE " + TITLE_CONTAINS)
+    List<TaskSummary> findSummariesByTitleContainingIgnoreCase(@Param("title") String title);
+
+    @Query(SUMMARY_SELECT + " WHERE t.status IN :statuses")
+    List<TaskSummary> findSummariesByStatusIn(@Param("statuses") Collection<String> statuses);
+
+    @Query(SUMMARY_SELECT + " WHERE t.status IN :statuses AND " + TITLE_CONTAINS)
+    List<TaskSummary> findSummariesByStatusInAndTitleContainingIgnoreCase(
+            @Param("statuses") Collection<String> statuses, @Param("title") String title);
+
+    // Detail view: the task and its attachments in one round trip, one row per attachment
+    @Query("SELECT t, a FROM Task t LEFT JOIN TaskAttachment a ON a.taskId = t.id WHERE t.id = :id ORDER BY a.id")
+    List<Object[]> findWithAttachments(@Param("id") Long id);
 }
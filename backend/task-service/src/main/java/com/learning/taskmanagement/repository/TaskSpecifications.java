@@ -0,0 +1,72 @@
+package com.learning.taskmanagement.repository;
+
+import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskCursor;
+import com.learning.taskmanagement.model.TaskFilter;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria for task list queries; {@link TaskIndex} decides which combinations are allowed.
+ */
+public final class TaskSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (!filter.statuses().isEmpty()) {
+                predicates.add(root.get("status").in(filter.statuses()));
+            }
+            if (filter.text() != null && !filter.text().isBlank()) {
+                String pattern = "%" + escapeLike(filter.text().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("title")), pattern, LIKE_ESCAPE),
+                        cb.like(cb.lower(root.get("description")), pattern, LIKE_ESCAPE)));
+            }
+            addRange(predicates, cb, root.get("createdAt"), filter.createdFrom(), filter.createdTo());
+            addRange(predicates, cb, root.get("updatedAt"), filter.updatedFrom(), filter.updatedTo());
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Bounds the sort column at the cursor's value. The keyset condition Spring Data adds when
+     * scrolling is an OR of comparisons that the database can't use as an index range; this
+     * redundant bound makes the scan start at the cursor.
+     */
+    public static Specification<Task> startingAt(TaskCursor cursor) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> sortColumn = root.get(cursor.sort().key().property());
+            return cursor.sort().descending()
+                    ? cb.lessThanOrEqualTo(sortColumn, cursor.value())
+                    : cb.greaterThanOrEqualTo(sortColumn, cursor.value());
+        };
+    }
+
+    private static void addRange(List<Predicate> predicates, CriteriaBuilder cb, Expression<LocalDateTime> column,
+                                 LocalDateTime from, LocalDateTime to) {
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(column, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(column, to));
+        }
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
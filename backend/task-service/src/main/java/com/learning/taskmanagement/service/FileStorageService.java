@@ -1,12 +1,17 @@
 package com.learning.taskmanagement.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.minio.*;
 import io.minio.http.Method;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -14,14 +19,19 @@ import java.util.concurrent.TimeUnit;
 @Service
 public class FileStorageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
+
     private final MinioClient minioClient;
 
+    private final MeterRegistry meterRegistry;
+
     @Value("${minio.bucket}")
     private String bucketName;
 
     @Autowired
-    public FileStorageService(MinioClient minioClient) {
+    public FileStorageService(MinioClient minioClient, MeterRegistry meterRegistry) {
         this.minioClient = minioClient;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -32,56 +42,75 @@ public class FileStorageService {
         String fileName = taskId + "_" + UUID.randomUUID() + "_" + file.getOriginalFilename();
 
         // Upload to MinIO
-        minioClient.putObject(
+        timed("upload", () -> minioClient.putObject(
                 PutObjectArgs.builder()
                         .bucket(bucketName)
                         .object(fileName)
                         .stream(file.getInputStream(), file.getSize(), -1)
                         .contentType(file.getContentType())
                         .build()
-        );
+        ));
 
-        System.out.println("✅ Uploaded file: " + fileName);
+        logger.info("Uploaded file: {}", fileName);
         return fileName;
     }
 
+    /**
+     * Store content under the given object name, e.g. an archive segment
+     */
+    public void uploadObject(String objectName, byte[] content, String contentType) throws Exception {
+        timed("upload", () -> minioClient.putObject(
+                PutObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .stream(new ByteArrayInputStream(content), content.length, -1)
+                        .contentType(contentType)
+                        .build()
+        ));
+
+        logger.info("Uploaded object: {} ({} bytes)", objectName, content.length);
+    }
+
     /**
      * Download a file
      */
     public InputStream downloadFile(String fileName) throws Exception {
-        return minioClient.getObject(
+        return timed("download", () -> minioClient.getObject(
                 GetObjectArgs.builder()
                         .bucket(bucketName)
                         .object(fileName)
                         .build()
-        );
+        ));
     }
 
     /**
      * Delete a file
      */
     public void deleteFile(String fileName) throws Exception {
-        minioClient.removeObject(
-                RemoveObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(fileName)
-                        .build()
-        );
-        System.out.println("🗑️ Deleted file: " + fileName);
+        timed("delete", () -> {
+            minioClient.removeObject(
+                    RemoveObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(fileName)
+                            .build()
+            );
+            return null;
+        });
+        logger.info("Deleted file: {}", fileName);
     }
 
     /**
      * Get presigned URL for file download (valid for 1 hour)
      */
     public String getPresignedUrl(String fileName) throws Exception {
-        return minioClient.getPresignedObjectUrl(
+        return timed("presign", () -> minioClient.getPresignedObjectUrl(
                 GetPresignedObjectUrlArgs.builder()
                         .method(Method.GET)
                         .bucket(bucketName)
                         .object(fileName)
                         .expiry(1, TimeUnit.HOURS)
                         .build()
-        );
+        ));
     }
 
     /**
@@ -89,15 +118,41 @@ public class FileStorageService {
      */
     public boolean fileExists(String fileName) {
         try {
-            minioClient.statObject(
+            timed("stat", () -> minioClient.statObject(
                     StatObjectArgs.builder()
                             .bucket(bucketName)
                             .object(fileName)
                             .build()
-            );
+            ));
             return true;
         } catch (Exception e) {
             return false;
         }
     }
+
+    /**
+     * Records the call's latency under minio.requests, tagged by operation and outcome
+     */
+    private <T> T timed(String operation, MinioCall<T> call) throws Exception {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return call.execute();
+        } catch (Exception e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("minio.requests")
+                    .description("Latency of MinIO object storage calls")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    @FunctionalInterface
+    private interface MinioCall<T> {
+        T execute() throws Exception;
+    }
 }
\ No newline at end of file
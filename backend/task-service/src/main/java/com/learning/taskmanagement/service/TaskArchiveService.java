@@ -0,0 +1,322 @@
+package com.learning.taskmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.taskmanagement.model.ArchivedTask;
+import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskArchiveSegment;
+import com.learning.taskmanagement.repository.ArchivedTaskRepository;
+import com.learning.taskmanagement.repository.TaskArchiveSegmentRepository;
+import com.learning.taskmanagement.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves done tasks that haven't changed for a while out of the tasks table into gzipped NDJSON
+ * segments in MinIO, one task per line in id order. The task_archive_segments and
+ * archived_tasks manifest keeps them reachable by id and lets reports pick segments by
+ * completion time.
+ */
+@Service
+public class TaskArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskArchiveService.class);
+
+    static final String ARCHIVED_STATUS = "DONE";
+
+    // Stand-ins for a missing report bound that every database can store as a timestamp
+    private static final LocalDateTime OPEN_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final LocalDateTime OPEN_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private static final DateTimeFormatter SEGMENT_FOLDER = DateTimeFormatter.ofPattern("yyyy/MM");
+
+    // Lets one service instance archive at a time; distinct from TaskPartitionMaintainer's key
+    private static final long LOCK_KEY = 4_502_102L;
+
+    private final TaskRepository taskRepository;
+
+    private final TaskArchiveSegmentRepository segmentRepository;
+
+    private final ArchivedTaskRepository archivedTaskRepository;
+
+    private final FileStorageService fileStorageService;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final DataSource dataSource;
+
+    private final Duration archiveAfter;
+
+    private final int batchSize;
+
+    private final String objectPrefix;
+
+    private final Counter archivedTasks;
+
+    private final DistributionSummary segmentSize;
+
+    @Autowired
+    public TaskArchiveService(TaskRepository taskRepository,
+                              TaskArchiveSegmentRepository segmentRepository,
+                              ArchivedTaskRepository archivedTaskRepository,
+                              FileStorageService fileStorageService,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              DataSource dataSource,
+                              MeterRegistry meterRegistry,
+                              @Value("${tasks.archive.after:90d}") Duration archiveAfter,
+                              @Value("${tasks.archive.batch-size:1000}") int batchSize,
+                              @Value("${tasks.archive.object-prefix:archive/tasks/}") String objectPrefix) {
+        this.taskRepository = taskRepository;
+        this.segmentRepository = segmentRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.fileStorageService = fileStorageService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dataSource = dataSource;
+        this.archiveAfter = archiveAfter;
+        this.batchSize = batchSize;
+        this.objectPrefix = objectPrefix;
+        this.archivedTasks = Counter.builder("tasks.archived")
+                .description("Done tasks moved from the tasks table to archive segments")
+                .register(meterRegistry);
+        this.segmentSize = DistributionSummary.builder("tasks.archive.segment.size")
+                .description("Compressed size of written archive segments")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${tasks.archive.cron:0 0 3 * * *}")
+    public void archiveScheduled() {
+        try {
+            int archived = archive(Integer.MAX_VALUE);
+            logger.info("Archived {} done tasks", archived);
+        } catch (Exception e) {
+            logger.error("Task archival failed, remaining tasks are archived on the next run", e);
+        }
+    }
+
+    /**
+     * Archives done tasks last updated before the cutoff, one segment per batch of at most
+     * {@code batch-size} tasks, and returns how many were archived. Returns 0 right away while
+     * another instance is archiving.
+     */
+    public synchronized int archive(int maxSegments) throws Exception {
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!tryLock(lockConnection)) {
+                logger.info("Another instance is archiving tasks, skipping this run");
+                return 0;
+            }
+            try {
+                return archiveBatches(maxSegments);
+            } finally {
+                unlock(lockConnection);
+            }
+        }
+    }
+
+    private int archiveBatches(int maxSegments) throws Exception {
+        LocalDateTime cutoff = LocalDateTime.now().minus(archiveAfter);
+        int archived = 0;
+        for (int segments = 0; segments < maxSegments; segments++) {
+            List<Task> batch = taskRepository.findByStatusAndUpdatedAtBeforeOrderByIdAsc(
+                    ARCHIVED_STATUS, cutoff, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            archiveBatch(batch, cutoff);
+            archived += batch.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    public Optional<Task> findArchivedTask(Long id) throws IOException {
+        Optional<ArchivedTask> entry = archivedTaskRepository.findById(id);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+
+        TaskArchiveSegment segment = segmentRepository.findById(entry.get().getSegmentId())
+                .orElseThrow(() -> new IllegalStateException("Archive segment " + entry.get().getSegmentId()
+                        + " of task " + id + " is missing"));
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(openSegment(segment), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                if (lineNumber++ == entry.get().getLineNumber()) {
+                    return Optional.of(objectMapper.readValue(line, Task.class));
+                }
+            }
+        }
+        throw new IllegalStateException("Task " + id + " is missing from archive segment " + segment.getObjectName());
+    }
+
+    /**
+     * Segments that may hold tasks completed in [from, to), or all of them without bounds.
+     */
+    public List<TaskArchiveSegment> findSegments(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return segmentRepository.findAll(Sort.by("id"));
+        }
+        return segmentRepository.findByMaxUpdatedAtGreaterThanEqualAndMinUpdatedAtLessThanOrderByIdAsc(
+                from != null ? from : OPEN_START, to != null ? to : OPEN_END);
+    }
+
+    public Optional<TaskArchiveSegment> findSegment(Long segmentId) {
+        return segmentRepository.findById(segmentId);
+    }
+
+    /**
+     * Writes the segment's tasks to the stream as uncompressed NDJSON.
+     */
+    public void copySegment(TaskArchiveSegment segment, OutputStream out) throws IOException {
+        try (InputStream in = openSegment(segment)) {
+            in.transferTo(out);
+        }
+    }
+
+    private void archiveBatch(List<Task> batch, LocalDateTime cutoff) throws Exception {
+        byte[] content = encode(batch);
+        Task first = batch.get(0);
+        Task last = batch.get(batch.size() - 1);
+        // Unique per upload, so the cleanup below can only ever remove this run's object
+        String objectName = objectPrefix + LocalDateTime.now().format(SEGMENT_FOLDER) + "/"
+                + first.getId() + "-" + last.getId() + "-" + UUID.randomUUID() + ".ndjson.gz";
+        fileStorageService.uploadObject(objectName, content, "application/gzip");
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                TaskArchiveSegment segment = segmentRepository.save(newSegment(objectName, batch, content.length));
+
+                List<ArchivedTask> entries = new ArrayList<>(batch.size());
+                List<Long> ids = new ArrayList<>(batch.size());
+                for (int line = 0; line < batch.size(); line++) {
+                    Long taskId = batch.get(line).getId();
+                    entries.add(new ArchivedTask(taskId, segment.getId(), line));
+                    ids.add(taskId);
+                }
+                archivedTaskRepository.saveAll(entries);
+
+                int deleted = taskRepository.deleteUnchanged(ids, ARCHIVED_STATUS, cutoff);
+                if (deleted != ids.size()) {
+                    // A task was reopened or edited since it was read; its archived copy would be stale
+                    throw new IllegalStateException("Only " + deleted + " of " + ids.size()
+                            + " tasks were still archivable");
+                }
+            });
+        } catch (RuntimeException e) {
+            try {
+                fileStorageService.deleteFile(objectName);
+            } catch (Exception cleanup) {
+                logger.warn("Could not remove unused archive segment {}", objectName, cleanup);
+            }
+            throw e;
+        }
+
+        archivedTasks.increment(batch.size());
+        segmentSize.record(content.length);
+        logger.info("Archived {} tasks to {}", batch.size(), objectName);
+    }
+
+    /**
+     * Takes a session-level advisory lock on Postgres, held on this connection for the whole run
+     * while the batches commit on others. Other databases run a single instance, so no lock.
+     */
+    private static boolean tryLock(Connection connection) throws SQLException {
+        if (!isPostgres(connection)) {
+            return true;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT pg_try_advisory_lock(" + LOCK_KEY + ")")) {
+            return result.next() && result.getBoolean(1);
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        if (isPostgres(connection)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+            }
+        }
+    }
+
+    private static boolean isPostgres(Connection connection) throws SQLException {
+        return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+    }
+
+    private byte[] encode(List<Task> batch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            for (Task task : batch) {
+                gzip.write(objectMapper.writeValueAsBytes(task));
+                gzip.write('\n');
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private InputStream openSegment(TaskArchiveSegment segment) throws IOException {
+        try {
+            return new GZIPInputStream(fileStorageService.downloadFile(segment.getObjectName()));
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Could not read archive segment " + segment.getObjectName(), e);
+        }
+    }
+
+    private static TaskArchiveSegment newSegment(String objectName, List<Task> batch, long size) {
+        TaskArchiveSegment segment = new TaskArchiveSegment();
+        segment.setObjectName(objectName);
+        segment.setTaskCount(batch.size());
+        segment.setMinTaskId(batch.get(0).getId());
+        segment.setMaxTaskId(batch.get(batch.size() - 1).getId());
+        segment.setMinUpdatedAt(batch.stream().map(Task::getUpdatedAt).filter(Objects::nonNull)
+                .min(LocalDateTime::compareTo).orElse(null));
+        segment.setMaxUpdatedAt(batch.stream().map(Task::getUpdatedAt).filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo).orElse(null));
+        segment.setSizeBytes(size);
+        return segment;
+    }
+}
@@ -0,0 +1,188 @@
+package com.learning.taskmanagement.service;
+
+import com.learning.taskmanagement.datasource.ReadYourWritesTracker;
+import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.repository.TaskRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Coalesces single-task lookups that miss the second-level cache into shared {@code findAllById}
+ * queries, DataLoader style. At most {@code max-concurrent-loads} queries run at once; ids asked
+ * for while they are busy queue up and go out together in the next one. An idle service thus
+ * adds no latency, while a burst of fan-out reads collapses into a few IN queries. Concurrent
+ * lookups of the same id share one result, so callers must treat the returned task as read-only.
+ */
+@Component
+public class TaskBatchLoader {
+
+    private final TaskRepository taskRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReadYourWritesTracker tracker;
+
+    private final int maxBatchSize;
+
+    private final int maxConcurrentLoads;
+
+    private final DistributionSummary batchSizes;
+
+    // Guarded by this: unfinished lookups by id, and those ids that no query has picked up yet
+    private final Map<Long, CompletableFuture<Optional<Task>>> pending = new HashMap<>();
+
+    private final Set<Long> queued = new LinkedHashSet<>();
+
+    private int loadsInFlight;
+
+    @Autowired
+    public TaskBatchLoader(TaskRepository taskRepository,
+                           EntityManagerFactory entityManagerFactory,
+                           PlatformTransactionManager transactionManager,
+                           ObjectProvider<ReadYourWritesTracker> tracker,
+                           MeterRegistry meterRegistry,
+                           @Value("${tasks.loader.max-batch-size:100}") int maxBatchSize,
+                           @Value("${tasks.loader.max-concurrent-loads:4}") int maxConcurrentLoads) {
+        this(taskRepository, entityManagerFactory, transactionManager, tracker.getIfAvailable(), meterRegistry,
+                maxBatchSize, maxConcurrentLoads);
+    }
+
+    TaskBatchLoader(TaskRepository taskRepository, EntityManagerFactory entityManagerFactory,
+                    PlatformTransactionManager transactionManager, ReadYourWritesTracker tracker,
+                    MeterRegistry meterRegistry, int maxBatchSize, int maxConcurrentLoads) {
+        this.taskRepository = taskRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.tracker = tracker;
+        this.maxBatchSize = maxBatchSize;
+        this.maxConcurrentLoads = maxConcurrentLoads;
+        this.batchSizes = DistributionSummary.builder("tasks.loader.batch.size")
+                .description("Task ids fetched per coalesced lookup query")
+                .register(meterRegistry);
+    }
+
+    public Optional<Task> load(Long id) {
+        // Cache hits need no query; a client reading its own recent write must not join a batch
+        // that may be sent to the replica on another client's behalf
+        if (entityManagerFactory.getCache().contains(Task.class, id) || (tracker != null && tracker.isSticky())) {
+            return taskRepository.findById(id);
+        }
+
+        CompletableFuture<Optional<Task>> result;
+        synchronized (this) {
+            result = pending.get(id);
+            if (result == null) {
+                result = new CompletableFuture<>();
+                pending.put(id, result);
+                queued.add(id);
+            }
+        }
+
+        awaitOrLoad(id, result);
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Waits until the id is looked up, sending the query itself (together with whatever else is
+     * queued) when the id is still queued and a query slot is free.
+     */
+    private void awaitOrLoad(Long id, CompletableFuture<Optional<Task>> result) {
+        boolean interrupted = false;
+        while (!result.isDone()) {
+            List<Long> batch;
+            synchronized (this) {
+                if (result.isDone()) {
+                    break;
+                }
+                if (!queued.contains(id) || loadsInFlight >= maxConcurrentLoads) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                    continue;
+                }
+                batch = takeQueued(id);
+                loadsInFlight++;
+            }
+
+            try {
+                fetch(batch);
+            } finally {
+                synchronized (this) {
+                    loadsInFlight--;
+                    notifyAll();
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    synchronized int queuedCount() {
+        return queued.size();
+    }
+
+    private List<Long> takeQueued(Long first) {
+        List<Long> batch = new ArrayList<>(Math.min(queued.size(), maxBatchSize));
+        queued.remove(first);
+        batch.add(first);
+        for (Iterator<Long> ids = queued.iterator(); ids.hasNext() && batch.size() < maxBatchSize; ) {
+            batch.add(ids.next());
+            ids.remove();
+        }
+        return batch;
+    }
+
+    private void fetch(List<Long> ids) {
+        Map<Long, Task> found = new HashMap<>();
+        RuntimeException failure = null;
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    taskRepository.findAllById(ids).forEach(task -> found.put(task.getId(), task)));
+            batchSizes.record(ids.size());
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        List<CompletableFuture<Optional<Task>>> results = new ArrayList<>(ids.size());
+        synchronized (this) {
+            for (Long id : ids) {
+                results.add(pending.remove(id));
+            }
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            if (failure != null) {
+                results.get(i).completeExceptionally(failure);
+            } else {
+                results.get(i).complete(Optional.ofNullable(found.get(ids.get(i))));
+            }
+        }
+    }
+}
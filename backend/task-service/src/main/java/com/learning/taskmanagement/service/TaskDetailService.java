@@ -0,0 +1,96 @@
+package com.learning.taskmanagement.service;
+
+import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskAttachment;
+import com.learning.taskmanagement.model.TaskDetail;
+import com.learning.taskmanagement.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the task detail view: the task and its attachments come from a single query, and the
+ * attachments' download URLs are presigned concurrently.
+ */
+@Service
+public class TaskDetailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskDetailService.class);
+
+    private final TaskRepository taskRepository;
+
+    private final FileStorageService fileStorageService;
+
+    private final ExecutorService presignExecutor;
+
+    @Autowired
+    public TaskDetailService(TaskRepository taskRepository,
+                             FileStorageService fileStorageService,
+                             @Value("${tasks.detail.presign-threads:8}") int presignThreads) {
+        this(taskRepository, fileStorageService, Executors.newFixedThreadPool(presignThreads, new PresignThreadFactory()));
+    }
+
+    TaskDetailService(TaskRepository taskRepository, FileStorageService fileStorageService,
+                      ExecutorService presignExecutor) {
+        this.taskRepository = taskRepository;
+        this.fileStorageService = fileStorageService;
+        this.presignExecutor = presignExecutor;
+    }
+
+    // Not transactional: the repository query runs in its own read-only transaction, so no
+    // connection is held while the URLs are signed
+    public Optional<TaskDetail> getTaskDetail(Long id) {
+        List<Object[]> rows = taskRepository.findWithAttachments(id);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Task task = (Task) rows.get(0)[0];
+        List<CompletableFuture<TaskDetail.Attachment>> attachments = rows.stream()
+                .map(row -> (TaskAttachment) row[1])
+                .filter(Objects::nonNull)
+                .map(attachment -> CompletableFuture.supplyAsync(
+                        () -> new TaskDetail.Attachment(attachment, presign(attachment)), presignExecutor))
+                .toList();
+
+        return Optional.of(new TaskDetail(task, attachments.stream().map(CompletableFuture::join).toList()));
+    }
+
+    private String presign(TaskAttachment attachment) {
+        try {
+            return fileStorageService.getPresignedUrl(attachment.getFileName());
+        } catch (Exception e) {
+            logger.warn("Could not presign attachment {} of task {}", attachment.getId(), attachment.getTaskId(), e);
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        presignExecutor.shutdown();
+    }
+
+    private static final class PresignThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "attachment-presign-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
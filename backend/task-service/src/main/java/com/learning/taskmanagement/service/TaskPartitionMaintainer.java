@@ -0,0 +1,143 @@
+package com.learning.taskmanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Keeps one partition per created_at month under tasks_done (see V4__partition_tasks_by_status),
+ * from the current month to a few months ahead. Done tasks of months that had no partition yet
+ * sit in tasks_done_default; they are moved into their month's partition when it is created.
+ * Only Postgres is partitioned, so this does nothing on other databases.
+ */
+@Component
+public class TaskPartitionMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskPartitionMaintainer.class);
+
+    static final String DONE_TABLE = "tasks_done";
+
+    private static final String DEFAULT_PARTITION = "tasks_done_default";
+
+    // Serializes maintenance across service instances
+    private static final long LOCK_KEY = 4_502_101L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int monthsAhead;
+
+    private final Clock clock;
+
+    @Autowired
+    public TaskPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${tasks.partitions.months-ahead:3}") int monthsAhead) {
+        this(jdbcTemplate, transactionManager, monthsAhead, Clock.systemDefaultZone());
+    }
+
+    TaskPartitionMaintainer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            int monthsAhead, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${tasks.partitions.maintenance-cron:0 30 2 * * *}")
+    public void maintain() {
+        if (!isPartitioned()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, LOCK_KEY);
+
+            Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT c.relname FROM pg_inherits i"
+                            + " JOIN pg_class c ON c.oid = i.inhrelid"
+                            + " JOIN pg_class p ON p.oid = i.inhparent"
+                            + " WHERE p.relname = ?", String.class, DONE_TABLE));
+            List<YearMonth> unpartitioned = jdbcTemplate.queryForList(
+                            "SELECT DISTINCT date_trunc('month', created_at) FROM " + DEFAULT_PARTITION,
+                            Timestamp.class).stream()
+                    .map(month -> YearMonth.from(month.toLocalDateTime()))
+                    .toList();
+
+            for (YearMonth month : monthsToCreate(existing, unpartitioned)) {
+                createPartition(month);
+            }
+        });
+    }
+
+    /**
+     * The months from now to {@code monthsAhead}, plus those with rows in the default partition,
+     * that have no partition yet.
+     */
+    SortedSet<YearMonth> monthsToCreate(Set<String> existingPartitions, Collection<YearMonth> unpartitionedMonths) {
+        YearMonth current = YearMonth.now(clock);
+        SortedSet<YearMonth> months = new TreeSet<>(unpartitionedMonths);
+        for (int i = 0; i <= monthsAhead; i++) {
+            months.add(current.plusMonths(i));
+        }
+        months.removeIf(month -> existingPartitions.contains(partitionName(month)));
+        return months;
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("%s_y%04dm%02d", DONE_TABLE, month.getYear(), month.getMonthValue());
+    }
+
+    private boolean isPartitioned() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return false;
+        }
+        Integer partitioned = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid"
+                        + " WHERE c.relname = ?", Integer.class, DONE_TABLE);
+        return partitioned != null && partitioned > 0;
+    }
+
+    /**
+     * Creates the month's table, moves its rows over from the default partition and attaches it.
+     * Creating it directly as a partition would fail while the default partition holds such rows.
+     */
+    private void createPartition(YearMonth month) {
+        String name = partitionName(month);
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+
+        jdbcTemplate.execute("CREATE TABLE " + name
+                + " (LIKE " + DONE_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE created_at >= '" + from + "' AND created_at < '" + to + "' RETURNING *)"
+                + " INSERT INTO " + name + " SELECT * FROM moved");
+        jdbcTemplate.execute("ALTER TABLE " + DONE_TABLE + " ATTACH PARTITION " + name
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+
+        logger.info("Created task partition {} and moved {} done tasks into it", name, moved);
+    }
+}
@@ -0,0 +1,65 @@
+package com.learning.taskmanagement.service;
+
+import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskCursor;
+import com.learning.taskmanagement.model.TaskFilter;
+import com.learning.taskmanagement.model.TaskPage;
+import com.learning.taskmanagement.model.TaskSort;
+import com.learning.taskmanagement.repository.TaskIndex;
+import com.learning.taskmanagement.repository.TaskRepository;
+import com.learning.taskmanagement.repository.TaskSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filtered, sorted task listing with keyset pagination. Each page is one query that walks the
+ * index chosen by {@link TaskIndex}, so the cost of a page doesn't grow with how far in it is.
+ */
+@Service
+public class TaskQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskQueryService.class);
+
+    private final TaskRepository taskRepository;
+
+    @Autowired
+    public TaskQueryService(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    /**
+     * Up to {@code limit} tasks matching the filter after the cursor, or from the start without one.
+     * Throws IllegalArgumentException when no index supports the filter and sort.
+     */
+    @Transactional(readOnly = true)
+    public TaskPage findTasks(TaskFilter filter, TaskSort sort, TaskCursor after, int limit) {
+        TaskIndex index = TaskIndex.supporting(filter, sort);
+        logger.debug("Listing tasks by {} sorted {} through {}", filter, sort, index.indexName());
+
+        Specification<Task> specification = TaskSpecifications.matching(filter);
+        ScrollPosition position = ScrollPosition.keyset();
+        if (after != null) {
+            specification = specification.and(TaskSpecifications.startingAt(after));
+            position = ScrollPosition.forward(Map.of(sort.key().property(), after.value(), "id", after.id()));
+        }
+
+        ScrollPosition start = position;
+        Window<Task> window = taskRepository.findBy(specification,
+                query -> query.sortBy(sort.toSort()).limit(limit).scroll(start));
+
+        List<Task> tasks = window.getContent();
+        String nextCursor = window.hasNext() && !tasks.isEmpty()
+                ? TaskCursor.after(sort, tasks.get(tasks.size() - 1)).encode()
+                : null;
+        return new TaskPage(tasks, nextCursor);
+    }
+}
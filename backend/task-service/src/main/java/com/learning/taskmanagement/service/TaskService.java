@@ -1,43 +1,108 @@
 package com.learning.taskmanagement.service;
 
-import com.learning.taskmanagement.event.TaskEvent;
+import com.learning.events.TaskEvent;
 import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskBatch;
+import com.learning.taskmanagement.model.TaskSummary;
 import com.learning.taskmanagement.producer.TaskEventProducer;
 import com.learning.taskmanagement.repository.TaskRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
 
     private final TaskRepository taskRepository;
     private final TaskEventProducer taskEventProducer;
+    private final TaskBatchLoader taskBatchLoader;
 
     @Autowired
-    public TaskService(TaskRepository taskRepository, TaskEventProducer taskEventProducer) {
+    public TaskService(TaskRepository taskRepository, TaskEventProducer taskEventProducer,
+                       TaskBatchLoader taskBatchLoader) {
         this.taskRepository = taskRepository;
         this.taskEventProducer = taskEventProducer;
+        this.taskBatchLoader = taskBatchLoader;
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getAllTasks() {
         return taskRepository.findAll();
     }
 
+    /**
+     * Cache misses are batched with concurrent lookups of other ids, see {@link TaskBatchLoader}.
+     * Not transactional, so the batched query runs in its own read-only transaction.
+     */
     public Optional<Task> getTaskById(Long id) {
-        return taskRepository.findById(id);
+        return taskBatchLoader.load(id);
     }
 
+    /**
+     * The tasks with the given ids, read with one query, in request order with duplicates dropped
+     */
+    @Transactional(readOnly = true)
+    public TaskBatch getTasksByIds(Collection<Long> ids) {
+        List<Long> requested = ids.stream().distinct().toList();
+        Map<Long, Task> found = taskRepository.findAllById(requested).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        return new TaskBatch(
+                requested.stream().filter(found::containsKey).map(found::get).toList(),
+                requested.stream().filter(id -> !found.containsKey(id)).toList());
+    }
+
+    @Transactional(readOnly = true)
     public List<Task> getTasksByStatus(String status) {
         return taskRepository.findByStatus(status);
     }
 
+    @Transactional(readOnly = true)
     public List<Task> searchTasks(String keyword) {
         return taskRepository.findByTitleContainingIgnoreCase(keyword);
     }
 
+    @Transactional(readOnly = true)
+    public List<Task> searchTasksByStatus(String status, String keyword) {
+        return taskRepository.findByStatusAndTitleContainingIgnoreCase(status, keyword);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Task> getActiveTasks() {
+        return taskRepository.findByStatusIn(Task.ACTIVE_STATUSES);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Task> searchActiveTasks(String keyword) {
+        return taskRepository.findByStatusInAndTitleContainingIgnoreCase(Task.ACTIVE_STATUSES, keyword);
+    }
+
+    /**
+     * Summaries of the tasks with the given status and/or matching the search keyword, or else all
+     * of them; without a status, activeOnly limits them to {@link Task#ACTIVE_STATUSES}.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTaskSummaries(String status, String keyword, boolean activeOnly) {
+        if (status != null) {
+            return keyword != null
+                    ? taskRepository.findSummariesByStatusAndTitleContainingIgnoreCase(status, keyword)
+                    : taskRepository.findSummariesByStatus(status);
+        }
+        if (keyword != null) {
+            return activeOnly
+                    ? taskRepository.findSummariesByStatusInAndTitleContainingIgnoreCase(Task.ACTIVE_STATUSES, keyword)
+                    : taskRepository.findSummariesByTitleContainingIgnoreCase(keyword);
+        }
+        return activeOnly
+                ? taskRepository.findSummariesByStatusIn(Task.ACTIVE_STATUSES)
+                : taskRepository.findSummariesBy();
+    }
+
     @Transactional
     public Task createTask(Task task) {
         Task savedTask = taskRepository.save(task);
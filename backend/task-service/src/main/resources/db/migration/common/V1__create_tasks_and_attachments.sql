@@ -0,0 +1,21 @@
+-- Matches the schema Hibernate created with ddl-auto: update, so existing databases
+-- (baselined at version 0) run this script as a no-op.
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(1000),
+    status      VARCHAR(255)  NOT NULL,
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS task_attachments (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id            BIGINT       NOT NULL,
+    file_name          VARCHAR(255) NOT NULL,
+    original_file_name VARCHAR(255) NOT NULL,
+    content_type       VARCHAR(255),
+    file_size          BIGINT,
+    uploaded_at        TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,9 @@
+-- GET /api/tasks?status=...
+CREATE INDEX IF NOT EXISTS idx_tasks_status ON tasks (status);
+
+-- Recently changed tasks
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at ON tasks (updated_at);
+
+-- findByTaskId on every attachment listing and task delete; the leading task_id column
+-- serves the lookup and uploaded_at returns a task's attachments in upload order
+CREATE INDEX IF NOT EXISTS idx_task_attachments_task_id_uploaded_at ON task_attachments (task_id, uploaded_at);
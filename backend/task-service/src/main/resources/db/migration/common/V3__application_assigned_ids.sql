@@ -0,0 +1,6 @@
+-- Task and attachment ids are assigned by the service (see SnowflakeIdGenerator) before the
+-- insert. They start far above the identity values issued so far, so existing rows keep sorting
+-- before new ones. Both V1 and Hibernate's ddl-auto created the columns as identities.
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY;
+
+ALTER TABLE task_attachments ALTER COLUMN id DROP IDENTITY;
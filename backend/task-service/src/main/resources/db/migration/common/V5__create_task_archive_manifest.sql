@@ -0,0 +1,23 @@
+-- Manifest of the done tasks moved to object storage by TaskArchiveService: one row per
+-- gzipped NDJSON segment, and one small row per archived task pointing at its segment and line.
+
+CREATE TABLE task_archive_segments (
+    id             BIGINT       PRIMARY KEY,
+    object_name    VARCHAR(255) NOT NULL,
+    task_count     INTEGER      NOT NULL,
+    min_task_id    BIGINT       NOT NULL,
+    max_task_id    BIGINT       NOT NULL,
+    min_updated_at TIMESTAMP(6),
+    max_updated_at TIMESTAMP(6),
+    size_bytes     BIGINT       NOT NULL,
+    archived_at    TIMESTAMP(6) NOT NULL
+);
+
+-- Reports pick segments by the time their tasks were completed
+CREATE INDEX idx_task_archive_segments_max_updated_at ON task_archive_segments (max_updated_at);
+
+CREATE TABLE archived_tasks (
+    task_id     BIGINT  PRIMARY KEY,
+    segment_id  BIGINT  NOT NULL,
+    line_number INTEGER NOT NULL
+);
@@ -0,0 +1,15 @@
+-- Keyset-paginated task listing (GET /api/tasks/query, see TaskIndex). Each index is an optional
+-- status column, then a sort column, then id, so a page is read by walking one index from the
+-- cursor and stopping after the limit.
+
+-- Superseded by the status-led indexes below, which serve plain status lookups too
+DROP INDEX IF EXISTS idx_tasks_status;
+
+DROP INDEX IF EXISTS idx_tasks_updated_at;
+CREATE INDEX idx_tasks_updated_at ON tasks (updated_at, id);
+
+CREATE INDEX idx_tasks_created_at ON tasks (created_at, id);
+
+CREATE INDEX idx_tasks_status_updated_at ON tasks (status, updated_at, id);
+
+CREATE INDEX idx_tasks_status_created_at ON tasks (status, created_at, id);
@@ -0,0 +1,6 @@
+-- Keyset pagination by updated_at needs a value on every row: a null would end up in the page
+-- cursor and could not be compared against. The entity always sets updated_at, so only rows
+-- written before it did are filled in, with their creation time.
+UPDATE tasks SET updated_at = created_at WHERE updated_at IS NULL;
+
+ALTER TABLE tasks ALTER COLUMN updated_at SET NOT NULL;
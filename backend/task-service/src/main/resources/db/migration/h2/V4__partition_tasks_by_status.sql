@@ -0,0 +1,3 @@
+-- Declarative partitioning is Postgres only (see postgresql/V4__partition_tasks_by_status.sql);
+-- H2 keeps the plain tasks table.
+SELECT 1;
@@ -0,0 +1,40 @@
+-- Splits tasks into an active slice (TODO, IN_PROGRESS) and a done slice, so queries that name
+-- their statuses only scan the live rows. Done tasks are further split by created_at month;
+-- TaskPartitionMaintainer creates those monthly partitions ahead of time.
+--
+-- Postgres only: the schema of the other databases (H2 in tests) keeps the plain table, which
+-- has the same columns.
+
+DROP INDEX IF EXISTS idx_tasks_status;
+DROP INDEX IF EXISTS idx_tasks_updated_at;
+ALTER TABLE tasks RENAME TO tasks_unpartitioned;
+
+-- A partitioned table's primary key has to include every partitioning column
+CREATE TABLE tasks (
+    id          BIGINT        NOT NULL,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(1000),
+    status      VARCHAR(255)  NOT NULL,
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id, status, created_at)
+) PARTITION BY LIST (status);
+
+CREATE TABLE tasks_active PARTITION OF tasks FOR VALUES IN ('TODO', 'IN_PROGRESS');
+
+CREATE TABLE tasks_done PARTITION OF tasks FOR VALUES IN ('DONE') PARTITION BY RANGE (created_at);
+
+-- Done tasks of months without their own partition yet
+CREATE TABLE tasks_done_default PARTITION OF tasks_done DEFAULT;
+
+-- Any other status
+CREATE TABLE tasks_other PARTITION OF tasks DEFAULT;
+
+INSERT INTO tasks (id, title, description, status, created_at, updated_at)
+SELECT id, title, description, status, created_at, updated_at FROM tasks_unpartitioned;
+
+DROP TABLE tasks_unpartitioned;
+
+-- Created on every partition; within tasks_active the status index still separates TODO from IN_PROGRESS
+CREATE INDEX idx_tasks_status ON tasks (status);
+CREATE INDEX idx_tasks_updated_at ON tasks (updated_at);
@@ -1,9 +1,12 @@
 package com.learning.taskmanagement.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class KafkaConfigTest {
@@ -19,4 +22,35 @@ class KafkaConfigTest {
         assertThat(topic.numPartitions()).isEqualTo(3);
         assertThat(topic.replicationFactor()).isEqualTo((short) 1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void producerProperties_overlaysTuningOnBaseProperties() {
+        KafkaConfig config = new KafkaConfig();
+        ReflectionTestUtils.setField(config, "lingerMs", 20);
+        ReflectionTestUtils.setField(config, "batchSize", 131072);
+        ReflectionTestUtils.setField(config, "compressionType", "zstd");
+        ReflectionTestUtils.setField(config, "enableIdempotence", true);
+
+        Map<String, Object> props = config.producerProperties(
+                Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092", ProducerConfig.ACKS_CONFIG, "1"));
+
+        assertThat(props.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG)).isEqualTo("localhost:9092");
+        assertThat(props.get(ProducerConfig.LINGER_MS_CONFIG)).isEqualTo(20);
+        assertThat(props.get(ProducerConfig.BATCH_SIZE_CONFIG)).isEqualTo(131072);
+        assertThat(props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG)).isEqualTo("zstd");
+        assertThat(props.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG)).isEqualTo(true);
+        assertThat(props.get(ProducerConfig.ACKS_CONFIG)).isEqualTo("all");
+    }
+
+    @Test
+    void producerProperties_keepsConfiguredAcksWithoutIdempotence() {
+        KafkaConfig config = new KafkaConfig();
+        ReflectionTestUtils.setField(config, "compressionType", "none");
+        ReflectionTestUtils.setField(config, "enableIdempotence", false);
+
+        Map<String, Object> props = config.producerProperties(Map.of(ProducerConfig.ACKS_CONFIG, "1"));
+
+        assertThat(props.get(ProducerConfig.ACKS_CONFIG)).isEqualTo("1");
+        assertThat(props.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG)).isEqualTo(false);
+    }
+}
@@ -0,0 +1,70 @@
+package com.learning.taskmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.jdbc.DataSourcePoolMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaDataSourceConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            // Converts the sticky-window Duration the way a Spring Boot application would
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(
+                    DataSourceAutoConfiguration.class,
+                    FlywayAutoConfiguration.class,
+                    MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class,
+                    DataSourcePoolMetricsAutoConfiguration.class))
+            .withUserConfiguration(ReplicaDataSourceConfig.class)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:config-primary;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username=sa",
+                    "spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor}");
+
+    @Test
+    void withoutReplicaUrl_keepsTheSinglePool() {
+        contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean("replicaDataSource");
+            assertThat(context).hasSingleBean(DataSource.class);
+        });
+    }
+
+    @Test
+    void withReplicaUrl_buildsSeparatePoolsAndMigratesOnlyThePrimary() {
+        contextRunner
+                .withPropertyValues(
+                        "datasource.replica.url=jdbc:h2:mem:config-replica;DB_CLOSE_DELAY=-1",
+                        "datasource.replica.hikari.maximum-pool-size=3")
+                .run(context -> {
+                    HikariDataSource primary = context.getBean("primaryDataSource", HikariDataSource.class);
+                    HikariDataSource replica = context.getBean("replicaDataSource", HikariDataSource.class);
+                    assertThat(primary.getPoolName()).isEqualTo("primary");
+                    assertThat(replica.getPoolName()).isEqualTo("replica");
+                    assertThat(replica.isReadOnly()).isTrue();
+                    assertThat(replica.getMaximumPoolSize()).isEqualTo(3);
+                    assertThat(replica.getUsername()).isEqualTo("sa");
+
+                    String tables = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'TASKS'";
+                    assertThat(new JdbcTemplate(primary).queryForObject(tables, Integer.class)).isEqualTo(1);
+                    assertThat(new JdbcTemplate(replica).queryForObject(tables, Integer.class)).isZero();
+
+                    MeterRegistry registry = context.getBean(MeterRegistry.class);
+                    assertThat(registry.find("hikaricp.connections.max").tag("pool", "primary").gauge()).isNotNull();
+                    assertThat(registry.find("hikaricp.connections.max").tag("pool", "replica").gauge()).isNotNull();
+                });
+    }
+}
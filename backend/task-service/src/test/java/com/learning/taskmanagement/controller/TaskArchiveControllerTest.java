@@ -0,0 +1,85 @@
+package com.learning.taskmanagement.controller;
+
+import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskArchiveSegment;
+import com.learning.taskmanagement.service.TaskArchiveService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TaskArchiveControllerTest {
+
+    private TaskArchiveService archiveService;
+    private TaskArchiveController controller;
+
+    @BeforeEach
+    void setUp() {
+        archiveService = mock(TaskArchiveService.class);
+        controller = new TaskArchiveController(archiveService);
+    }
+
+    @Test
+    void archive_returnsArchivedCount() throws Exception {
+        when(archiveService.archive(5)).thenReturn(12);
+
+        ResponseEntity<Map<String, Integer>> response = controller.archive(5);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsEntry("archived", 12);
+    }
+
+    @Test
+    void getArchivedTask_found() throws Exception {
+        Task task = new Task(7L, "Old", null, "DONE");
+        when(archiveService.findArchivedTask(7L)).thenReturn(Optional.of(task));
+
+        ResponseEntity<Task> response = controller.getArchivedTask(7L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(task);
+    }
+
+    @Test
+    void getArchivedTask_notFound() throws Exception {
+        when(archiveService.findArchivedTask(7L)).thenReturn(Optional.empty());
+
+        assertThat(controller.getArchivedTask(7L).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void getArchivedTask_storageError() throws Exception {
+        when(archiveService.findArchivedTask(7L)).thenThrow(new IOException("MinIO down"));
+
+        assertThat(controller.getArchivedTask(7L).getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    void getSegmentTasks_streamsTheSegment() throws Exception {
+        TaskArchiveSegment segment = new TaskArchiveSegment();
+        when(archiveService.findSegment(3L)).thenReturn(Optional.of(segment));
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("{}\n".getBytes());
+            return null;
+        }).when(archiveService).copySegment(eq(segment), any());
+
+        ResponseEntity<StreamingResponseBody> response = controller.getSegmentTasks(3L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertThat(response.getHeaders().getContentType().toString()).isEqualTo("application/x-ndjson");
+        assertThat(out.toString()).isEqualTo("{}\n");
+    }
+}
@@ -2,6 +2,15 @@ package com.learning.taskmanagement.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskAttachment;
+import com.learning.taskmanagement.model.TaskBatch;
+import com.learning.taskmanagement.model.TaskDetail;
+import com.learning.taskmanagement.model.TaskFilter;
+import com.learning.taskmanagement.model.TaskPage;
+import com.learning.taskmanagement.model.TaskSort;
+import com.learning.taskmanagement.model.TaskSummary;
+import com.learning.taskmanagement.service.TaskDetailService;
+import com.learning.taskmanagement.service.TaskQueryService;
 import com.learning.taskmanagement.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,12 +21,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,6 +48,12 @@ class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskDetailService taskDetailService;
+
+    @MockBean
+    private TaskQueryService taskQueryService;
+
     private Task sampleTask;
 
     @BeforeEach
@@ -82,6 +100,58 @@ class TaskControllerTest {
         verify(taskService, times(1)).getTasksByStatus("TODO");
     }
 
+    @Test
+    @DisplayName("GET /api/tasks?fields=id,title - Should return only the requested summary fields")
+    void shouldReturnSparseSummaries() throws Exception {
+        // Given
+        TaskSummary summary = new TaskSummary(1L, "Test Task", "TODO", LocalDateTime.of(2026, 1, 17, 10, 0), 2);
+        when(taskService.getTaskSummaries("TODO", null, false)).thenReturn(List.of(summary));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks").param("status", "TODO").param("fields", "title,id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].title", is("Test Task")))
+                .andExpect(jsonPath("$[0].status").doesNotExist())
+                .andExpect(jsonPath("$[0].attachmentCount").doesNotExist())
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+
+        verify(taskService, never()).getTasksByStatus(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks?fields=description - Should reject fields outside the summary")
+    void shouldRejectUnknownFields() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("fields", "id,description"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks?scope=active - Should return only active tasks")
+    void shouldGetActiveTasks() throws Exception {
+        // Given
+        when(taskService.searchActiveTasks("Test")).thenReturn(List.of(sampleTask));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks").param("scope", "active").param("search", "Test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(taskService, never()).searchTasks(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks?scope=archived - Should reject unknown scopes")
+    void shouldRejectUnknownScope() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("scope", "archived"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskService);
+    }
+
     @Test
     @DisplayName("GET /api/tasks?search=Test - Should return searched tasks")
     void shouldSearchTasks() throws Exception {
@@ -205,6 +275,116 @@ class TaskControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("GET /api/tasks?status=TODO&search=Test - Should apply both filters")
+    void shouldCombineStatusAndSearch() throws Exception {
+        // Given
+        when(taskService.searchTasksByStatus("TODO", "Test")).thenReturn(List.of(sampleTask));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks").param("status", "TODO").param("search", "Test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(taskService, never()).getTasksByStatus(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/query - Should return a page of filtered tasks with the next cursor")
+    void shouldQueryTasks() throws Exception {
+        // Given
+        TaskFilter filter = new TaskFilter(List.of("TODO", "IN_PROGRESS"), "report",
+                LocalDateTime.of(2026, 1, 1, 0, 0), null, null, null);
+        when(taskQueryService.findTasks(filter, TaskSort.parse("-createdAt"), null, 20))
+                .thenReturn(new TaskPage(List.of(sampleTask), "next-page"));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/query")
+                        .param("status", "TODO,IN_PROGRESS")
+                        .param("text", "report")
+                        .param("createdFrom", "2026-01-01T00:00:00")
+                        .param("sort", "-createdAt")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks", hasSize(1)))
+                .andExpect(jsonPath("$.tasks[0].title", is("Test Task")))
+                .andExpect(jsonPath("$.nextCursor", is("next-page")));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/query - Should reject unknown sorts, unsupported filters and bad limits")
+    void shouldRejectInvalidQueries() throws Exception {
+        // Given
+        when(taskQueryService.findTasks(any(), any(), any(), anyInt()))
+                .thenThrow(new IllegalArgumentException("createdAt ranges need sort=createdAt or sort=-createdAt"));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/query").param("sort", "title"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/query").param("limit", "1000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/query").param("cursor", "garbage!"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/query").param("createdFrom", "2026-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/batch?ids=1,99 - Should return the found tasks and the missing ids")
+    void shouldGetTasksByIds() throws Exception {
+        // Given
+        when(taskService.getTasksByIds(List.of(1L, 99L))).thenReturn(new TaskBatch(List.of(sampleTask), List.of(99L)));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/batch").param("ids", "1,99"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks", hasSize(1)))
+                .andExpect(jsonPath("$.tasks[0].id", is(1)))
+                .andExpect(jsonPath("$.missing[0]", is(99)));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/batch - Should reject more ids than allowed")
+    void shouldRejectTooManyIds() throws Exception {
+        String ids = String.join(",", Collections.nCopies(TaskBatch.MAX_IDS + 1, "1"));
+
+        mockMvc.perform(get("/api/tasks/batch").param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{id}/detail - Should return the task with its attachments and URLs")
+    void shouldGetTaskDetail() throws Exception {
+        // Given
+        TaskAttachment attachment = new TaskAttachment(1L, "1_abc_doc.pdf", "doc.pdf", "application/pdf", 100L);
+        attachment.setId(7L);
+        when(taskDetailService.getTaskDetail(1L)).thenReturn(Optional.of(new TaskDetail(sampleTask,
+                List.of(new TaskDetail.Attachment(attachment, "http://minio/doc.pdf?signed")))));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/1/detail"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.title", is("Test Task")))
+                .andExpect(jsonPath("$.attachments", hasSize(1)))
+                .andExpect(jsonPath("$.attachments[0].id", is(7)))
+                .andExpect(jsonPath("$.attachments[0].originalFileName", is("doc.pdf")))
+                .andExpect(jsonPath("$.attachments[0].url", is("http://minio/doc.pdf?signed")));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{id}/detail - Should return 404 for unknown tasks")
+    void shouldReturn404ForUnknownTaskDetail() throws Exception {
+        // Given
+        when(taskDetailService.getTaskDetail(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/99/detail"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("DELETE /api/tasks/{id} - Should delete task")
     void shouldDeleteTask() throws Exception {
@@ -0,0 +1,160 @@
+package com.learning.taskmanagement.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MutableClock clock = new MutableClock();
+
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(2), clock);
+
+    private JdbcTemplate primary;
+
+    private JdbcTemplate replica;
+
+    private JdbcTemplate routed;
+
+    private TransactionTemplate readOnly;
+
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary.getDataSource(), replica.getDataSource(), tracker, meterRegistry);
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing);
+        proxy.checkDefaultConnectionProperties();
+
+        routed = new JdbcTemplate(proxy);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(proxy);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.clear();
+        primary.execute("DROP ALL OBJECTS");
+        replica.execute("DROP ALL OBJECTS");
+    }
+
+    private static JdbcTemplate database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE tasks (title VARCHAR(255))");
+        jdbc.update("INSERT INTO tasks VALUES (?)", "from " + name);
+        return jdbc;
+    }
+
+    private String readTitle() {
+        return readOnly.execute(status -> routed.queryForObject("SELECT MIN(title) FROM tasks", String.class));
+    }
+
+    private void write(String title) {
+        readWrite.executeWithoutResult(status -> routed.update("INSERT INTO tasks VALUES (?)", title));
+    }
+
+    private double routes(String pool, boolean sticky) {
+        return meterRegistry.get("datasource.routing")
+                .tag("pool", pool)
+                .tag("sticky", String.valueOf(sticky))
+                .counter().count();
+    }
+
+    @Test
+    void readOnlyTransactions_goToTheReplica() {
+        assertThat(readTitle()).isEqualTo("from replica");
+        assertThat(routes(ReplicaRoutingDataSource.REPLICA, false)).isEqualTo(1);
+    }
+
+    @Test
+    void writeTransactions_goToThePrimary() {
+        write("written");
+
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM tasks", Integer.class)).isEqualTo(2);
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM tasks", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void readsAfterOwnWrite_stayOnThePrimaryForTheWindow() {
+        tracker.bind("alice");
+        write("written");
+
+        assertThat(readTitle()).isEqualTo("from primary");
+        assertThat(routes(ReplicaRoutingDataSource.PRIMARY, true)).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(2));
+        assertThat(readTitle()).isEqualTo("from replica");
+    }
+
+    @Test
+    void otherClients_keepReadingFromTheReplica() {
+        tracker.bind("alice");
+        write("written");
+
+        tracker.bind("bob");
+        assertThat(readTitle()).isEqualTo("from replica");
+
+        tracker.clear();
+        assertThat(readTitle()).isEqualTo("from replica");
+    }
+
+    @Test
+    void rolledBackWrite_doesNotMakeTheClientSticky() {
+        tracker.bind("alice");
+        readWrite.executeWithoutResult(status -> {
+            routed.update("INSERT INTO tasks VALUES (?)", "rolled back");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readTitle()).isEqualTo("from replica");
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.ofEpochMilli(1_000);
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
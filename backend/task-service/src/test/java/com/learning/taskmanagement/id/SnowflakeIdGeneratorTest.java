@@ -0,0 +1,110 @@
+package com.learning.taskmanagement.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = Instant.parse("2026-10-01T12:00:00Z").toEpochMilli();
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    private SnowflakeIdGenerator generator(int workerId) {
+        return new SnowflakeIdGenerator(workerId, Duration.ofSeconds(1), clock::get);
+    }
+
+    @Test
+    void nextId_encodesTimeAndWorkerAndFitsIn53Bits() {
+        long id = generator(5).nextId();
+
+        assertThat(SnowflakeIdGenerator.timestampOf(id)).isEqualTo(Instant.ofEpochMilli(NOW));
+        assertThat((id >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_WORKER_ID).isEqualTo(5);
+        assertThat(id).isLessThan(1L << 53);
+        assertThat(id).isGreaterThanOrEqualTo(SnowflakeIdGenerator.minIdAt(Instant.ofEpochMilli(NOW)));
+    }
+
+    @Test
+    void nextId_increasesWithinAndAcrossMilliseconds() {
+        SnowflakeIdGenerator generator = generator(0);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+        clock.addAndGet(1);
+        long third = generator.nextId();
+
+        assertThat(second).isEqualTo(first + 1);
+        assertThat(third).isGreaterThan(second);
+    }
+
+    @Test
+    void nextId_rollsIntoTheNextMillisecondWhenTheSequenceIsUsedUp() {
+        SnowflakeIdGenerator generator = generator(0);
+
+        long last = 0;
+        for (int i = 0; i < 129; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(last);
+            last = id;
+        }
+
+        assertThat(SnowflakeIdGenerator.timestampOf(last)).isEqualTo(Instant.ofEpochMilli(NOW + 1));
+    }
+
+    @Test
+    void nextId_keepsIncreasingWhenTheClockStepsBack() {
+        SnowflakeIdGenerator generator = generator(0);
+        long before = generator.nextId();
+
+        clock.addAndGet(-500);
+
+        assertThat(generator.nextId()).isGreaterThan(before);
+    }
+
+    @Test
+    void nextId_failsOnceIdsWouldRunTooFarAheadOfTheClock() {
+        SnowflakeIdGenerator generator = generator(0);
+        generator.nextId();
+
+        clock.addAndGet(-2_000);
+
+        assertThatThrownBy(generator::nextId)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ahead of the clock");
+    }
+
+    @Test
+    void nextId_isUniqueAcrossThreads() throws InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, Duration.ofSeconds(5));
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(ids).hasSize(80_000);
+    }
+
+    @Test
+    void constructor_rejectsWorkerIdsOutOfRange() {
+        assertThatThrownBy(() -> generator(32)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> generator(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,125 @@
+package com.learning.taskmanagement.producer;
+
+import com.learning.events.TaskEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskEventCoalescerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+
+    private final List<TaskEvent> published = new ArrayList<>();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TaskEventCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        coalescer.close();
+    }
+
+    private TaskEventCoalescer newCoalescer(int maxPending) {
+        return new TaskEventCoalescer(Duration.ofMillis(500), maxPending,
+                (event, createdAt, committedAt) -> published.add(event), meterRegistry, clock::get);
+    }
+
+    private static TaskEvent event(long taskId, String status, String type) {
+        return new TaskEvent(taskId, "task " + taskId, "d", status, type);
+    }
+
+    @Test
+    void submit_mergesUpdatesOfATaskIntoItsFinalState() {
+        coalescer = newCoalescer(100);
+
+        coalescer.submit(event(1, "TODO", "UPDATED"), 0, 0);
+        coalescer.submit(event(1, "IN_PROGRESS", "UPDATED"), 0, 0);
+        coalescer.submit(event(2, "TODO", "UPDATED"), 0, 0);
+        coalescer.submit(event(1, "DONE", "UPDATED"), 0, 0);
+        coalescer.flushDue();
+        assertThat(published).isEmpty();
+
+        clock.addAndGet(500);
+        coalescer.flushDue();
+
+        assertThat(published).extracting(TaskEvent::getTaskId).containsExactly(1L, 2L);
+        assertThat(published.get(0).getStatus()).isEqualTo("DONE");
+        assertThat(meterRegistry.get("task.events.coalesced").counter().count()).isEqualTo(2);
+        assertThat(coalescer.pendingCount()).isZero();
+    }
+
+    @Test
+    void submit_windowStartsAtTheFirstEventSoBurstsCannotDelayForever() {
+        coalescer = newCoalescer(100);
+
+        coalescer.submit(event(1, "TODO", "UPDATED"), 0, 0);
+        clock.addAndGet(400);
+        coalescer.submit(event(1, "DONE", "UPDATED"), 0, 0);
+        clock.addAndGet(100);
+        coalescer.flushDue();
+
+        assertThat(published).hasSize(1);
+    }
+
+    @Test
+    void submit_keepsCreatedTypeOfTasksCreatedInTheWindow() {
+        coalescer = newCoalescer(100);
+
+        coalescer.submit(event(1, "TODO", "CREATED"), 0, 0);
+        coalescer.submit(event(1, "DONE", "UPDATED"), 0, 0);
+        coalescer.submit(event(2, "TODO", "UPDATED"), 0, 0);
+        coalescer.submit(event(2, "TODO", "DELETED"), 0, 0);
+        clock.addAndGet(500);
+        coalescer.flushDue();
+
+        assertThat(published).extracting(TaskEvent::getEventType).containsExactly("CREATED", "DELETED");
+        assertThat(published.get(0).getStatus()).isEqualTo("DONE");
+    }
+
+    @Test
+    void submit_dropsTasksCreatedAndDeletedInOneWindow() {
+        coalescer = newCoalescer(100);
+
+        coalescer.submit(event(1, "TODO", "CREATED"), 0, 0);
+        coalescer.submit(event(1, "DONE", "UPDATED"), 0, 0);
+        coalescer.submit(event(1, "DONE", "DELETED"), 0, 0);
+        clock.addAndGet(500);
+        coalescer.flushDue();
+
+        assertThat(published).isEmpty();
+        assertThat(coalescer.pendingCount()).isZero();
+    }
+
+    @Test
+    void submit_publishesTheOldestTaskEarlyWhenFull() {
+        coalescer = newCoalescer(2);
+
+        coalescer.submit(event(1, "TODO", "UPDATED"), 0, 0);
+        coalescer.submit(event(2, "TODO", "UPDATED"), 0, 0);
+        coalescer.submit(event(3, "TODO", "UPDATED"), 0, 0);
+
+        assertThat(published).extracting(TaskEvent::getTaskId).containsExactly(1L);
+        assertThat(coalescer.pendingCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("task.events.coalescer.overflow").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("task.events.coalescer.pending").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void close_publishesEverythingPending() {
+        coalescer = newCoalescer(100);
+        coalescer.submit(event(1, "TODO", "UPDATED"), 0, 0);
+        coalescer.submit(event(2, "TODO", "UPDATED"), 0, 0);
+
+        coalescer.close();
+
+        assertThat(published).hasSize(2);
+    }
+}
@@ -1,25 +1,36 @@
 package com.learning.taskmanagement.producer;
 
-import com.learning.taskmanagement.event.TaskEvent;
+import com.learning.events.TaskEvent;
+import com.learning.events.TaskEventHeaders;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.messaging.Message;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class TaskEventProducerTest {
 
     private KafkaTemplate<String, TaskEvent> kafkaTemplate;
     private TaskEventProducer producer;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
         kafkaTemplate = mock(KafkaTemplate.class);
-        producer = new TaskEventProducer(kafkaTemplate);
+        when(kafkaTemplate.send(any(Message.class))).thenReturn(CompletableFuture.completedFuture(null));
+        meterRegistry = new SimpleMeterRegistry();
+        producer = new TaskEventProducer(kafkaTemplate, meterRegistry);
         ReflectionTestUtils.setField(producer, "taskEventsTopic", "task-events");
     }
 
@@ -35,5 +46,74 @@ class TaskEventProducerTest {
         assertThat(msg.getPayload()).isEqualTo(event);
         assertThat(msg.getHeaders().get("kafka_topic")).isEqualTo("task-events");
         assertThat(msg.getHeaders().get("kafka_messageKey")).isEqualTo("1");
+        assertThat(msg.getHeaders()).containsKeys(TaskEventHeaders.CREATED_AT,
+                TaskEventHeaders.COMMITTED_AT, TaskEventHeaders.PUBLISHED_AT);
+    }
+
+    @Test
+    void sendTaskEvent_assignsEventIdsOnlyToEventsWithoutOne() {
+        TaskEvent first = new TaskEvent(1L, "title", "desc", "TODO", "CREATED");
+        TaskEvent second = new TaskEvent(1L, "title", "desc", "DONE", "UPDATED");
+        TaskEvent replayed = new TaskEvent(1L, "title", "desc", "DONE", "UPDATED");
+        replayed.setEventId("event-1");
+
+        producer.sendTaskEvent(first);
+        producer.sendTaskEvent(second);
+        producer.sendTaskEvent(replayed);
+
+        assertThat(first.getEventId()).isNotBlank();
+        assertThat(second.getEventId()).isNotBlank().isNotEqualTo(first.getEventId());
+        assertThat(replayed.getEventId()).isEqualTo("event-1");
+    }
+
+    @Test
+    void sendTaskEvent_waitsForTransactionCommit() {
+        TaskEvent event = new TaskEvent(1L, "title", "desc", "TODO", "CREATED");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            producer.sendTaskEvent(event);
+            verify(kafkaTemplate, never()).send(any(Message.class));
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            verify(kafkaTemplate).send(any(Message.class));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void sendTaskEvent_recordsLatencyAndErrors() {
+        TaskEvent event = new TaskEvent(1L, "title", "desc", "TODO", "CREATED");
+
+        producer.sendTaskEvent(event);
+        when(kafkaTemplate.send(any(Message.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        producer.sendTaskEvent(event);
+
+        assertThat(meterRegistry.get("task.events.send")
+                .tags("event.type", "CREATED", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("task.events.send")
+                .tags("outcome", "error").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("task.events.send.errors").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sendTaskEvent_coalescesRapidUpdatesOfATask() {
+        TaskEventProducer coalescing = new TaskEventProducer(kafkaTemplate, meterRegistry, Duration.ofMillis(200), 100);
+        ReflectionTestUtils.setField(coalescing, "taskEventsTopic", "task-events");
+        try {
+            for (String status : new String[]{"TODO", "IN_PROGRESS", "DONE"}) {
+                coalescing.sendTaskEvent(new TaskEvent(1L, "title", "desc", status, "UPDATED"));
+            }
+            verify(kafkaTemplate, never()).send(any(Message.class));
+
+            ArgumentCaptor<Message<TaskEvent>> captor = ArgumentCaptor.forClass(Message.class);
+            verify(kafkaTemplate, timeout(2000)).send(captor.capture());
+            assertThat(captor.getValue().getPayload().getStatus()).isEqualTo("DONE");
+        } finally {
+            coalescing.close();
+        }
+        verify(kafkaTemplate, times(1)).send(any(Message.class));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package com.learning.taskmanagement.repository;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskAttachment;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Each repository call commits on its own, so entries reach the shared cache like they do in production
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskAttachmentRepository attachmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        attachmentRepository.deleteAll();
+        taskRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findById_isServedFromTheCacheAndSeesUpdates() {
+        Task task = taskRepository.save(new Task(null, "Cached", "From the cache", "TODO"));
+
+        taskRepository.findById(task.getId());
+        taskRepository.findById(task.getId());
+        assertThat(statistics.getDomainDataRegionStatistics("tasks").getHitCount()).isPositive();
+
+        task.setTitle("Renamed");
+        taskRepository.save(task);
+
+        assertThat(taskRepository.findById(task.getId())).get().extracting(Task::getTitle).isEqualTo("Renamed");
+    }
+
+    @Test
+    void regions_expireEntriesAfterWrite() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-cache.conf"), getClass().getClassLoader());
+
+        // Entries must not outlive writes made on other instances for long
+        for (String region : List.of("tasks", "task-attachments", "task-queries")) {
+            assertThat(cacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class).getExpireAfterWrite())
+                    .as(region).hasValue(TimeUnit.SECONDS.toNanos(30));
+        }
+    }
+
+    @Test
+    void findByStatus_isServedFromTheQueryCacheUntilTasksChange() {
+        Task task = taskRepository.save(new Task(null, "Open", "Still open", "TODO"));
+
+        taskRepository.findByStatus("TODO");
+        assertThat(taskRepository.findByStatus("TODO")).extracting(Task::getId).containsExactly(task.getId());
+        assertThat(statistics.getQueryRegionStatistics("task-queries").getHitCount()).isPositive();
+
+        task.setStatus("DONE");
+        taskRepository.save(task);
+
+        assertThat(taskRepository.findByStatus("TODO")).isEmpty();
+        assertThat(taskRepository.findByStatus("DONE")).extracting(Task::getId).containsExactly(task.getId());
+    }
+
+    @Test
+    void findByStatus_dropsTasksRemovedByBulkDeletes() {
+        Task task = taskRepository.save(new Task(null, "Finished", "Done long ago", "DONE"));
+        assertThat(taskRepository.findByStatus("DONE")).hasSize(1);
+        taskRepository.findById(task.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                taskRepository.deleteUnchanged(List.of(task.getId()), "DONE", LocalDateTime.now().plusDays(1)));
+
+        assertThat(taskRepository.findByStatus("DONE")).isEmpty();
+        assertThat(taskRepository.findById(task.getId())).isEmpty();
+    }
+
+    @Test
+    void findByTaskId_seesAddedAndDeletedAttachments() {
+        TaskAttachment first = attachmentRepository.save(new TaskAttachment(1L, "f1", "orig1", "text/plain", 1L));
+        assertThat(attachmentRepository.findByTaskId(1L)).hasSize(1);
+
+        attachmentRepository.save(new TaskAttachment(1L, "f2", "orig2", "text/plain", 2L));
+        assertThat(attachmentRepository.findByTaskId(1L)).hasSize(2);
+
+        attachmentRepository.deleteById(first.getId());
+        assertThat(attachmentRepository.findByTaskId(1L)).extracting(TaskAttachment::getFileName)
+                .containsExactly("f2");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                attachmentRepository.deleteByTaskId(1L));
+        assertThat(attachmentRepository.findByTaskId(1L)).isEmpty();
+    }
+}
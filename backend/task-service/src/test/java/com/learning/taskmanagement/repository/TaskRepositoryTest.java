@@ -1,6 +1,11 @@
 package com.learning.taskmanagement.repository;
 
 import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskAttachment;
+import com.learning.taskmanagement.model.TaskSummary;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,6 +26,12 @@ class TaskRepositoryTest {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskAttachmentRepository attachmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private Task sampleTask;
 
     @BeforeEach
@@ -183,4 +194,112 @@ class TaskRepositoryTest {
         // Then
         assertThat(updatedTask.getUpdatedAt()).isAfter(updatedTask.getCreatedAt());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should read summaries without managing the entities")
+    void shouldReadSummariesWithoutManagingEntities() {
+        // Given
+        Task savedTask = taskRepository.save(sampleTask);
+        Task other = new Task(null, "Other Task", "Other", "DONE");
+        taskRepository.save(other);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<TaskSummary> summaries = taskRepository.findSummariesByStatus("TODO");
+
+        // Then
+        assertThat(summaries).containsExactly(new TaskSummary(
+                savedTask.getId(), "Test Task", "TODO", summaries.get(0).updatedAt(), 0));
+        assertThat(summaries.get(0).updatedAt()).isNotNull();
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        assertThat(taskRepository.findSummariesBy()).hasSize(2);
+        assertThat(taskRepository.findSummariesByTitleContainingIgnoreCase("other"))
+                .extracting(TaskSummary::title)
+                .containsExactly("Other Task");
+    }
+
+    @Test
+    @DisplayName("Should assign time-ordered ids before the insert")
+    void shouldAssignIdsBeforeInsert() {
+        // When
+        Task first = new Task(null, "First", null, "TODO");
+        Task second = new Task(null, "Second", null, "TODO");
+        entityManager.persist(first);
+        entityManager.persist(second);
+
+        // Then
+        assertThat(first.getId()).isNotNull();
+        assertThat(second.getId()).isGreaterThan(first.getId());
+        assertThat(taskRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should find tasks of the active statuses")
+    void shouldFindActiveTasks() {
+        // Given
+        taskRepository.save(sampleTask);
+        taskRepository.save(new Task(null, "Doing", null, "IN_PROGRESS"));
+        taskRepository.save(new Task(null, "Test Done", null, "DONE"));
+
+        // When & Then
+        assertThat(taskRepository.findByStatusIn(Task.ACTIVE_STATUSES))
+                .extracting(Task::getTitle)
+                .containsExactlyInAnyOrder("Test Task", "Doing");
+        assertThat(taskRepository.findByStatusInAndTitleContainingIgnoreCase(Task.ACTIVE_STATUSES, "test"))
+                .extracting(Task::getTitle)
+                .containsExactly("Test Task");
+        assertThat(taskRepository.findSummariesByStatusIn(Task.ACTIVE_STATUSES)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should count attachments per task in the summaries")
+    void shouldCountAttachmentsInSummaries() {
+        // Given
+        Task withFiles = taskRepository.save(sampleTask);
+        Task withoutFiles = taskRepository.save(new Task(null, "No files", null, "TODO"));
+        attachmentRepository.save(new TaskAttachment(withFiles.getId(), "f1", "a.txt", "text/plain", 1L));
+        attachmentRepository.save(new TaskAttachment(withFiles.getId(), "f2", "b.txt", "text/plain", 2L));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<TaskSummary> summaries = taskRepository.findSummariesByStatus("TODO");
+
+        // Then
+        assertThat(summaries)
+                .extracting(TaskSummary::id, TaskSummary::attachmentCount)
+                .containsExactlyInAnyOrder(tuple(withFiles.getId(), 2L), tuple(withoutFiles.getId(), 0L));
+        assertThat(taskRepository.findSummariesByStatusInAndTitleContainingIgnoreCase(Task.ACTIVE_STATUSES, "test"))
+                .extracting(TaskSummary::attachmentCount)
+                .containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should load a task and its attachments in one query")
+    void shouldFindTaskWithAttachments() {
+        // Given
+        Task task = taskRepository.save(sampleTask);
+        Task empty = taskRepository.save(new Task(null, "No files", null, "TODO"));
+        TaskAttachment first = attachmentRepository.save(new TaskAttachment(task.getId(), "f1", "a.txt", "text/plain", 1L));
+        TaskAttachment second = attachmentRepository.save(new TaskAttachment(task.getId(), "f2", "b.txt", "text/plain", 2L));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+
+        // When
+        List<Object[]> rows = taskRepository.findWithAttachments(task.getId());
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(rows).hasSize(2);
+        assertThat(((Task) rows.get(0)[0]).getTitle()).isEqualTo("Test Task");
+        assertThat(rows).extracting(row -> ((TaskAttachment) row[1]).getId())
+                .containsExactly(first.getId(), second.getId());
+        assertThat(taskRepository.findWithAttachments(empty.getId()))
+                .singleElement()
+                .satisfies(row -> assertThat(row[1]).isNull());
+        assertThat(taskRepository.findWithAttachments(-1L)).isEmpty();
+    }
+}
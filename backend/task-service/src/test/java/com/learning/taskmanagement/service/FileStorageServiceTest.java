@@ -1,5 +1,6 @@
 package com.learning.taskmanagement.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.minio.*;
 import io.minio.http.Method;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,11 +20,13 @@ class FileStorageServiceTest {
 
     private MinioClient minioClient;
     private FileStorageService fileStorageService;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
         minioClient = mock(MinioClient.class);
-        fileStorageService = new FileStorageService(minioClient);
+        meterRegistry = new SimpleMeterRegistry();
+        fileStorageService = new FileStorageService(minioClient, meterRegistry);
         ReflectionTestUtils.setField(fileStorageService, "bucketName", "test-bucket");
     }
 
@@ -89,4 +92,17 @@ class FileStorageServiceTest {
 
         assertThat(exists).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void minioCalls_areTimedByOperationAndOutcome() throws Exception {
+        doThrow(new RuntimeException("boom")).when(minioClient).statObject(any(StatObjectArgs.class));
+
+        fileStorageService.deleteFile("file.txt");
+        fileStorageService.fileExists("file.txt");
+
+        assertThat(meterRegistry.get("minio.requests")
+                .tags("operation", "delete", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("minio.requests")
+                .tags("operation", "stat", "outcome", "error").timer().count()).isEqualTo(1);
+    }
+}
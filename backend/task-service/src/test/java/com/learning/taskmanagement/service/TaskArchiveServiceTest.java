@@ -0,0 +1,144 @@
+package com.learning.taskmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskArchiveSegment;
+import com.learning.taskmanagement.repository.ArchivedTaskRepository;
+import com.learning.taskmanagement.repository.TaskArchiveSegmentRepository;
+import com.learning.taskmanagement.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+// Not run inside a test transaction, so the service commits each segment like it does in production
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskArchiveServiceTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskArchiveSegmentRepository segmentRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FileStorageService fileStorageService;
+
+    private TaskArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        archivedTaskRepository.deleteAll();
+        segmentRepository.deleteAll();
+        taskRepository.deleteAll();
+
+        fileStorageService = mock(FileStorageService.class);
+        doAnswer(invocation -> objects.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(fileStorageService).uploadObject(anyString(), any(), anyString());
+        when(fileStorageService.downloadFile(anyString()))
+                .thenAnswer(invocation -> new ByteArrayInputStream(objects.get(invocation.<String>getArgument(0))));
+        doAnswer(invocation -> objects.remove(invocation.<String>getArgument(0)))
+                .when(fileStorageService).deleteFile(anyString());
+
+        archiveService = new TaskArchiveService(taskRepository, segmentRepository, archivedTaskRepository,
+                fileStorageService, new ObjectMapper().findAndRegisterModules(), transactionManager,
+                dataSource, meterRegistry, Duration.ZERO, 2, "archive/tasks/");
+    }
+
+    private Task save(String title, String status) {
+        return taskRepository.save(new Task(null, title, title + " description", status));
+    }
+
+    @Test
+    void archive_movesDoneTasksIntoSegmentsAndKeepsThemReachable() throws Exception {
+        Task first = save("First", "DONE");
+        save("Second", "DONE");
+        save("Third", "DONE");
+        save("Open", "TODO");
+
+        int archived = archiveService.archive(Integer.MAX_VALUE);
+
+        assertThat(archived).isEqualTo(3);
+        assertThat(taskRepository.findAll()).extracting(Task::getTitle).containsExactly("Open");
+        assertThat(objects).hasSize(2);
+        assertThat(meterRegistry.get("tasks.archived").counter().count()).isEqualTo(3);
+
+        List<TaskArchiveSegment> segments = archiveService.findSegments(null, null);
+        assertThat(segments).extracting(TaskArchiveSegment::getTaskCount).containsExactly(2, 1);
+        assertThat(segments.get(0).getMinTaskId()).isEqualTo(first.getId());
+        assertThat(segments.get(0).getObjectName()).startsWith("archive/tasks/").endsWith(".ndjson.gz");
+        assertThat(segments.get(0).getObjectName()).isNotEqualTo(segments.get(1).getObjectName());
+
+        Task restored = archiveService.findArchivedTask(first.getId()).orElseThrow();
+        assertThat(restored.getTitle()).isEqualTo("First");
+        assertThat(restored.getDescription()).isEqualTo("First description");
+        assertThat(restored.getCreatedAt()).isNotNull();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archiveService.copySegment(segments.get(0), out);
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).hasSize(2);
+    }
+
+    @Test
+    void archive_stopsAfterMaxSegments() throws Exception {
+        save("First", "DONE");
+        save("Second", "DONE");
+        save("Third", "DONE");
+
+        assertThat(archiveService.archive(1)).isEqualTo(2);
+        assertThat(taskRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void archive_keepsTheTasksWhenTheUploadFails() throws Exception {
+        save("First", "DONE");
+        doThrow(new IllegalStateException("MinIO down"))
+                .when(fileStorageService).uploadObject(anyString(), any(), anyString());
+
+        assertThatThrownBy(() -> archiveService.archive(1)).hasMessage("MinIO down");
+
+        assertThat(taskRepository.count()).isEqualTo(1);
+        assertThat(segmentRepository.count()).isZero();
+    }
+
+    @Test
+    void findArchivedTask_isEmptyForUnknownIds() throws Exception {
+        assertThat(archiveService.findArchivedTask(42L)).isEmpty();
+        verify(fileStorageService, never()).downloadFile(anyString());
+    }
+}
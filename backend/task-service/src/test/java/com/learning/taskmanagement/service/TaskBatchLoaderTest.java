@@ -0,0 +1,168 @@
+package com.learning.taskmanagement.service;
+
+import com.learning.taskmanagement.datasource.ReadYourWritesTracker;
+import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Task Batch Loader Tests")
+class TaskBatchLoaderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<List<Long>> queries = new CopyOnWriteArrayList<>();
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    private TaskRepository taskRepository;
+
+    private Cache cache;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private CountDownLatch firstQueryReleased;
+
+    private TaskBatchLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        cache = mock(Cache.class);
+        entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+
+        // Every id below 100 exists; the first query blocks until the test releases it
+        firstQueryReleased = new CountDownLatch(1);
+        when(taskRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Long> ids = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(ids::add);
+            queries.add(ids);
+            if (queries.size() == 1) {
+                firstQueryReleased.await(5, TimeUnit.SECONDS);
+            }
+            return ids.stream().filter(id -> id < 100).map(TaskBatchLoaderTest::task).toList();
+        });
+
+        loader = loader(null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    private TaskBatchLoader loader(ReadYourWritesTracker tracker) {
+        return new TaskBatchLoader(taskRepository, entityManagerFactory,
+                mock(PlatformTransactionManager.class), tracker, meterRegistry, 100, 1);
+    }
+
+    private static Task task(long id) {
+        return new Task(id, "Task " + id, null, "TODO");
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met in time").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static Long idOf(CompletableFuture<Optional<Task>> lookup) {
+        return lookup.join().map(Task::getId).orElse(null);
+    }
+
+    private CompletableFuture<Optional<Task>> loadAsync(long id) {
+        return CompletableFuture.supplyAsync(() -> loader.load(id), callers);
+    }
+
+    @Test
+    @DisplayName("Should fetch the ids queued behind a running query together")
+    void shouldCoalesceConcurrentMisses() {
+        // Given: a slow first query
+        CompletableFuture<Optional<Task>> first = loadAsync(1);
+        awaitUntil(() -> queries.size() == 1);
+
+        // When: more lookups arrive meanwhile, two of them for the same id
+        List<CompletableFuture<Optional<Task>>> waiting = List.of(
+                loadAsync(2), loadAsync(3), loadAsync(4), loadAsync(4), loadAsync(100));
+        awaitUntil(() -> loader.queuedCount() == 4);
+        firstQueryReleased.countDown();
+
+        // Then
+        assertThat(idOf(first)).isEqualTo(1L);
+        assertThat(waiting).extracting(TaskBatchLoaderTest::idOf).containsExactly(2L, 3L, 4L, 4L, null);
+        assertThat(queries).hasSize(2);
+        assertThat(queries.get(1)).containsExactlyInAnyOrder(2L, 3L, 4L, 100L);
+        assertThat(meterRegistry.get("tasks.loader.batch.size").summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should read cached tasks directly")
+    void shouldReadCachedTasksDirectly() {
+        // Given
+        when(cache.contains(Task.class, 7L)).thenReturn(true);
+        when(taskRepository.findById(7L)).thenReturn(Optional.of(task(7)));
+
+        // When & Then
+        assertThat(loader.load(7L)).isPresent();
+        verify(taskRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should not batch reads of a client that just wrote")
+    void shouldNotBatchStickyReads() {
+        // Given
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5));
+        loader = loader(tracker);
+        when(taskRepository.findById(anyLong())).thenReturn(Optional.of(task(7)));
+        tracker.bind("client-1");
+        tracker.recordWrite();
+
+        // When & Then
+        try {
+            assertThat(loader.load(7L)).isPresent();
+        } finally {
+            tracker.clear();
+        }
+        verify(taskRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should fail every lookup of a failed query")
+    void shouldPropagateQueryFailures() {
+        // Given
+        reset(taskRepository);
+        when(taskRepository.findAllById(any())).thenThrow(new IllegalStateException("database down"));
+
+        // When & Then
+        assertThatThrownBy(() -> loader.load(1L)).hasMessage("database down");
+        assertThatThrownBy(() -> loader.load(1L)).hasMessage("database down");
+        verify(taskRepository, times(2)).findAllById(any());
+    }
+}
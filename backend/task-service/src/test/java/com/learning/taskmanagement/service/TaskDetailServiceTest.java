@@ -0,0 +1,144 @@
+package com.learning.taskmanagement.service;
+
+import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskAttachment;
+import com.learning.taskmanagement.model.TaskDetail;
+import com.learning.taskmanagement.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Task Detail Service Tests")
+class TaskDetailServiceTest {
+
+    private TaskRepository taskRepository;
+
+    private FileStorageService fileStorageService;
+
+    private ExecutorService executor;
+
+    private TaskDetailService detailService;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        fileStorageService = mock(FileStorageService.class);
+        executor = Executors.newFixedThreadPool(4);
+        detailService = new TaskDetailService(taskRepository, fileStorageService, executor);
+        task = new Task(1L, "Test Task", "Test Description", "TODO");
+    }
+
+    @AfterEach
+    void tearDown() {
+        detailService.close();
+    }
+
+    private TaskAttachment attachment(long id, String fileName) {
+        TaskAttachment attachment = new TaskAttachment(1L, fileName, fileName, "text/plain", 1L);
+        attachment.setId(id);
+        return attachment;
+    }
+
+    private void givenRows(TaskAttachment... attachments) {
+        List<Object[]> rows = new ArrayList<>();
+        for (TaskAttachment attachment : attachments) {
+            rows.add(new Object[]{task, attachment});
+        }
+        if (rows.isEmpty()) {
+            rows.add(new Object[]{task, null});
+        }
+        when(taskRepository.findWithAttachments(1L)).thenReturn(rows);
+    }
+
+    @Test
+    @DisplayName("Should return the task with presigned attachment URLs in attachment order")
+    void shouldReturnTaskWithAttachmentUrls() throws Exception {
+        // Given
+        givenRows(attachment(1, "a.txt"), attachment(2, "b.txt"));
+        when(fileStorageService.getPresignedUrl(anyString()))
+                .thenAnswer(invocation -> "http://minio/" + invocation.getArgument(0));
+
+        // When
+        TaskDetail detail = detailService.getTaskDetail(1L).orElseThrow();
+
+        // Then
+        assertThat(detail.task()).isSameAs(task);
+        assertThat(detail.attachments())
+                .extracting(TaskDetail.Attachment::url)
+                .containsExactly("http://minio/a.txt", "http://minio/b.txt");
+        verify(taskRepository, times(1)).findWithAttachments(1L);
+    }
+
+    @Test
+    @DisplayName("Should presign the attachments concurrently")
+    void shouldPresignConcurrently() throws Exception {
+        // Given: each signing call waits until all three are in flight
+        givenRows(attachment(1, "a.txt"), attachment(2, "b.txt"), attachment(3, "c.txt"));
+        CountDownLatch inFlight = new CountDownLatch(3);
+        when(fileStorageService.getPresignedUrl(anyString())).thenAnswer(invocation -> {
+            inFlight.countDown();
+            return inFlight.await(5, TimeUnit.SECONDS) ? "signed" : "sequential";
+        });
+
+        // When
+        TaskDetail detail = detailService.getTaskDetail(1L).orElseThrow();
+
+        // Then
+        assertThat(detail.attachments()).extracting(TaskDetail.Attachment::url).containsOnly("signed");
+    }
+
+    @Test
+    @DisplayName("Should leave the URL empty when signing one attachment fails")
+    void shouldKeepAttachmentWhenSigningFails() throws Exception {
+        // Given
+        givenRows(attachment(1, "a.txt"), attachment(2, "b.txt"));
+        when(fileStorageService.getPresignedUrl("a.txt")).thenThrow(new IllegalStateException("MinIO down"));
+        when(fileStorageService.getPresignedUrl("b.txt")).thenReturn("http://minio/b.txt");
+
+        // When
+        TaskDetail detail = detailService.getTaskDetail(1L).orElseThrow();
+
+        // Then
+        assertThat(detail.attachments())
+                .extracting(TaskDetail.Attachment::url)
+                .containsExactly(null, "http://minio/b.txt");
+    }
+
+    @Test
+    @DisplayName("Should return a task without attachments")
+    void shouldReturnTaskWithoutAttachments() {
+        // Given
+        givenRows();
+
+        // When
+        TaskDetail detail = detailService.getTaskDetail(1L).orElseThrow();
+
+        // Then
+        assertThat(detail.attachments()).isEmpty();
+        verifyNoInteractions(fileStorageService);
+    }
+
+    @Test
+    @DisplayName("Should return empty for unknown tasks")
+    void shouldReturnEmptyForUnknownTasks() {
+        // Given
+        when(taskRepository.findWithAttachments(99L)).thenReturn(List.of());
+
+        // When & Then
+        assertThat(detailService.getTaskDetail(99L)).isEmpty();
+    }
+}
@@ -0,0 +1,47 @@
+package com.learning.taskmanagement.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskPartitionMaintainerTest {
+
+    private final DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:partitions;DB_CLOSE_DELAY=-1", "sa", "");
+
+    private final TaskPartitionMaintainer maintainer = new TaskPartitionMaintainer(
+            new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource), 2,
+            Clock.fixed(Instant.parse("2026-11-15T10:00:00Z"), ZoneOffset.UTC));
+
+    @Test
+    void monthsToCreate_coversTheMonthsAheadAndThoseWaitingInTheDefaultPartition() {
+        Set<String> existing = Set.of(TaskPartitionMaintainer.partitionName(YearMonth.of(2026, 11)));
+
+        assertThat(maintainer.monthsToCreate(existing, List.of(YearMonth.of(2026, 3), YearMonth.of(2026, 11))))
+                .containsExactly(YearMonth.of(2026, 3), YearMonth.of(2026, 12), YearMonth.of(2027, 1));
+    }
+
+    @Test
+    void partitionName_isZeroPadded() {
+        assertThat(TaskPartitionMaintainer.partitionName(YearMonth.of(2027, 1))).isEqualTo("tasks_done_y2027m01");
+    }
+
+    @Test
+    void maintain_doesNothingOnDatabasesWithoutPartitioning() {
+        maintainer.maintain();
+
+        Integer tables = new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME LIKE 'TASKS_DONE%'", Integer.class);
+        assertThat(tables).isZero();
+    }
+}
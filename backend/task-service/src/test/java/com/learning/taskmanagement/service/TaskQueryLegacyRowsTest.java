@@ -0,0 +1,76 @@
+package com.learning.taskmanagement.service;
+
+import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskCursor;
+import com.learning.taskmanagement.model.TaskFilter;
+import com.learning.taskmanagement.model.TaskPage;
+import com.learning.taskmanagement.model.TaskSort;
+import com.learning.taskmanagement.repository.TaskRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Paging over tasks written before updated_at was always set: the schema is migrated up to the
+ * version that still allowed nulls, such rows are inserted, and then the remaining migrations run.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Task Query Legacy Rows Tests")
+class TaskQueryLegacyRowsTest {
+
+    @TestConfiguration
+    static class LegacyRows {
+
+        @Bean
+        FlywayMigrationStrategy migrateAroundLegacyRows() {
+            return flyway -> {
+                Flyway.configure().configuration(flyway.getConfiguration()).target("6").load().migrate();
+                JdbcTemplate jdbc = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+                jdbc.update("INSERT INTO tasks (id, title, status, created_at, updated_at) VALUES "
+                        + "(1, 'A', 'TODO', TIMESTAMP '2026-03-01 09:00:00', TIMESTAMP '2026-03-01 09:00:00'), "
+                        + "(2, 'B', 'TODO', TIMESTAMP '2026-03-01 10:00:00', NULL), "
+                        + "(3, 'C', 'TODO', TIMESTAMP '2026-03-01 09:00:00', TIMESTAMP '2026-03-01 11:00:00')");
+                flyway.migrate();
+            };
+        }
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    @DisplayName("Should page across a task whose updated_at was null")
+    void shouldPageAcrossBackfilledRow() {
+        // Given
+        TaskQueryService queryService = new TaskQueryService(taskRepository);
+        TaskSort sort = TaskSort.parse("updatedAt");
+
+        // When
+        List<String> seen = new ArrayList<>();
+        TaskCursor cursor = null;
+        do {
+            TaskPage page = queryService.findTasks(new TaskFilter(null, null, null, null, null, null), sort, cursor, 1);
+            page.tasks().stream().map(Task::getTitle).forEach(seen::add);
+            cursor = page.nextCursor() != null ? TaskCursor.decode(page.nextCursor(), sort) : null;
+        } while (cursor != null);
+
+        // Then: the row without an update sorts at its creation time
+        assertThat(seen).containsExactly("A", "B", "C");
+        assertThat(taskRepository.findById(2L)).get()
+                .extracting(Task::getUpdatedAt)
+                .isEqualTo(taskRepository.findById(2L).get().getCreatedAt());
+    }
+}
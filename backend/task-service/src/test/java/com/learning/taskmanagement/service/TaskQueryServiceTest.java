@@ -0,0 +1,183 @@
+package com.learning.taskmanagement.service;
+
+import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskCursor;
+import com.learning.taskmanagement.model.TaskFilter;
+import com.learning.taskmanagement.model.TaskPage;
+import com.learning.taskmanagement.model.TaskSort;
+import com.learning.taskmanagement.repository.TaskIndex;
+import com.learning.taskmanagement.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Task Query Service Tests")
+class TaskQueryServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    private static final TaskFilter NO_FILTER = new TaskFilter(null, null, null, null, null, null);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TaskQueryService queryService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        queryService = new TaskQueryService(taskRepository);
+    }
+
+    /**
+     * Saves a task created and last updated at the given offsets from {@link #DAY}
+     */
+    private Task save(String title, String description, String status, int createdHours, int updatedHours) {
+        Task task = taskRepository.save(new Task(null, title, description, status));
+        entityManager.flush();
+        entityManager.createQuery("UPDATE Task t SET t.createdAt = :created, t.updatedAt = :updated WHERE t.id = :id")
+                .setParameter("created", DAY.plusHours(createdHours))
+                .setParameter("updated", DAY.plusHours(updatedHours))
+                .setParameter("id", task.getId())
+                .executeUpdate();
+        entityManager.clear();
+        return task;
+    }
+
+    private static List<String> titles(TaskPage page) {
+        return page.tasks().stream().map(Task::getTitle).toList();
+    }
+
+    @Test
+    @DisplayName("Should combine status, text and date range filters")
+    void shouldCombineFilters() {
+        // Given
+        save("Write report", "quarterly numbers", "TODO", 0, 1);
+        save("Review report", null, "IN_PROGRESS", 0, 2);
+        save("Plan offsite", "report venues", "TODO", 0, 3);
+        save("Write report draft", null, "DONE", 0, 4);
+        save("Old report", null, "TODO", 0, -48);
+
+        TaskFilter filter = new TaskFilter(List.of("TODO", "IN_PROGRESS"), "REPORT",
+                null, null, DAY, DAY.plusDays(1));
+
+        // When
+        TaskPage page = queryService.findTasks(filter, TaskSort.parse("-updatedAt"), null, 10);
+
+        // Then
+        assertThat(titles(page)).containsExactly("Plan offsite", "Review report", "Write report");
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should treat LIKE wildcards in the text as literals")
+    void shouldMatchWildcardsLiterally() {
+        // Given
+        save("100% done", null, "TODO", 0, 0);
+        save("1000 items", null, "TODO", 0, 1);
+
+        // When
+        TaskPage page = queryService.findTasks(new TaskFilter(null, "0%", null, null, null, null),
+                TaskSort.parse("updatedAt"), null, 10);
+
+        // Then
+        assertThat(titles(page)).containsExactly("100% done");
+    }
+
+    @Test
+    @DisplayName("Should page through ties on the sort value without gaps or repeats")
+    void shouldPageWithKeysetCursor() {
+        // Given: five tasks, three of them created at the same moment
+        save("A", null, "TODO", 0, 0);
+        save("B", null, "TODO", 1, 0);
+        save("C", null, "TODO", 1, 0);
+        save("D", null, "TODO", 1, 0);
+        save("E", null, "TODO", 2, 0);
+        TaskSort sort = TaskSort.parse("createdAt");
+
+        // When
+        List<String> seen = new ArrayList<>();
+        TaskCursor cursor = null;
+        int pages = 0;
+        do {
+            TaskPage page = queryService.findTasks(NO_FILTER, sort, cursor, 2);
+            seen.addAll(titles(page));
+            cursor = page.nextCursor() != null ? TaskCursor.decode(page.nextCursor(), sort) : null;
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertThat(seen).containsExactly("A", "B", "C", "D", "E");
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should page backwards in time with a descending sort")
+    void shouldPageDescending() {
+        // Given
+        save("First", null, "TODO", 0, 1);
+        save("Second", null, "TODO", 0, 2);
+        save("Third", null, "TODO", 0, 3);
+        TaskSort sort = TaskSort.parse("-updatedAt");
+        TaskFilter todo = new TaskFilter(List.of("TODO"), null, null, null, null, null);
+
+        // When
+        TaskPage first = queryService.findTasks(todo, sort, null, 2);
+        TaskPage second = queryService.findTasks(todo, sort, TaskCursor.decode(first.nextCursor(), sort), 2);
+
+        // Then
+        assertThat(titles(first)).containsExactly("Third", "Second");
+        assertThat(titles(second)).containsExactly("First");
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject date ranges on a column other than the sort key")
+    void shouldRejectRangesOffTheSortKey() {
+        TaskFilter createdRange = new TaskFilter(null, null, DAY, null, null, null);
+
+        assertThatThrownBy(() -> queryService.findTasks(createdRange, TaskSort.parse("-updatedAt"), null, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("createdAt");
+    }
+
+    @Test
+    @DisplayName("Should pick the status-led index only for a single status")
+    void shouldPickSupportingIndex() {
+        TaskFilter todo = new TaskFilter(List.of("TODO"), null, null, null, null, null);
+        TaskFilter open = new TaskFilter(List.of("TODO", "IN_PROGRESS"), null, null, null, null, null);
+
+        assertThat(TaskIndex.supporting(todo, TaskSort.parse("createdAt"))).isEqualTo(TaskIndex.STATUS_CREATED_AT);
+        assertThat(TaskIndex.supporting(open, TaskSort.parse("-updatedAt"))).isEqualTo(TaskIndex.UPDATED_AT);
+        assertThat(TaskIndex.supporting(NO_FILTER, TaskSort.parse("-updatedAt"))).isEqualTo(TaskIndex.UPDATED_AT);
+    }
+
+    @Test
+    @DisplayName("Should reject cursors issued for another sort")
+    void shouldRejectForeignCursors() {
+        Task task = new Task(7L, "Task", null, "TODO");
+        task.setCreatedAt(DAY);
+        String token = TaskCursor.after(TaskSort.parse("createdAt"), task).encode();
+
+        assertThat(TaskCursor.decode(token, TaskSort.parse("createdAt")).id()).isEqualTo(7L);
+        assertThatThrownBy(() -> TaskCursor.decode(token, TaskSort.parse("-createdAt")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskCursor.decode("not a cursor", TaskSort.parse("createdAt")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,7 +1,9 @@
 package com.learning.taskmanagement.service;
 
-import com.learning.taskmanagement.event.TaskEvent;
+import com.learning.events.TaskEvent;
 import com.learning.taskmanagement.model.Task;
+import com.learning.taskmanagement.model.TaskBatch;
+import com.learning.taskmanagement.model.TaskSummary;
 import com.learning.taskmanagement.producer.TaskEventProducer;
 import com.learning.taskmanagement.repository.TaskRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +33,9 @@ class TaskServiceTest {
     @Mock
     private TaskEventProducer taskEventProducer;
 
+    @Mock
+    private TaskBatchLoader taskBatchLoader;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -61,11 +66,39 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("Should get summaries by status, or all of them")
+    void shouldGetTaskSummaries() {
+        // Given
+        TaskSummary summary = new TaskSummary(1L, "Test Task", "TODO", null, 0);
+        when(taskRepository.findSummariesByStatus("TODO")).thenReturn(List.of(summary));
+        when(taskRepository.findSummariesBy()).thenReturn(List.of(summary));
+
+        // When & Then
+        assertThat(taskService.getTaskSummaries("TODO", null, true)).containsExactly(summary);
+        assertThat(taskService.getTaskSummaries(null, null, false)).containsExactly(summary);
+        verify(taskRepository, never()).findSummariesByTitleContainingIgnoreCase(any());
+    }
+
+    @Test
+    @DisplayName("Should restrict active tasks to the active statuses")
+    void shouldGetActiveTasks() {
+        // Given
+        when(taskRepository.findByStatusIn(Task.ACTIVE_STATUSES)).thenReturn(List.of(sampleTask));
+        when(taskRepository.findSummariesByStatusInAndTitleContainingIgnoreCase(Task.ACTIVE_STATUSES, "Test"))
+                .thenReturn(List.of());
+
+        // When & Then
+        assertThat(taskService.getActiveTasks()).containsExactly(sampleTask);
+        assertThat(taskService.getTaskSummaries(null, "Test", true)).isEmpty();
+        verify(taskRepository, never()).findAll();
+    }
+
     @Test
     @DisplayName("Should get task by ID")
     void shouldGetTaskById() {
         // Given
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(sampleTask));
+        when(taskBatchLoader.load(1L)).thenReturn(Optional.of(sampleTask));
 
         // When
         Optional<Task> result = taskService.getTaskById(1L);
@@ -73,14 +106,14 @@ class TaskServiceTest {
         // Then
         assertThat(result).isPresent();
         assertThat(result.get().getTitle()).isEqualTo("Test Task");
-        verify(taskRepository, times(1)).findById(1L);
+        verify(taskBatchLoader, times(1)).load(1L);
     }
 
     @Test
     @DisplayName("Should return empty when task not found")
     void shouldReturnEmptyWhenTaskNotFound() {
         // Given
-        when(taskRepository.findById(99L)).thenReturn(Optional.empty());
+        when(taskBatchLoader.load(99L)).thenReturn(Optional.empty());
 
         // When
         Optional<Task> result = taskService.getTaskById(99L);
@@ -89,6 +122,38 @@ class TaskServiceTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should filter summaries by status and keyword together")
+    void shouldFilterSummariesByStatusAndKeyword() {
+        // Given
+        TaskSummary summary = new TaskSummary(1L, "Test Task", "TODO", null, 0);
+        when(taskRepository.findSummariesByStatusAndTitleContainingIgnoreCase("TODO", "Test"))
+                .thenReturn(List.of(summary));
+
+        // When
+        List<TaskSummary> result = taskService.getTaskSummaries("TODO", "Test", false);
+
+        // Then
+        assertThat(result).containsExactly(summary);
+        verify(taskRepository, never()).findSummariesByStatus(any());
+    }
+
+    @Test
+    @DisplayName("Should get tasks by ids in request order and report missing ids")
+    void shouldGetTasksByIds() {
+        // Given
+        Task other = new Task(2L, "Other Task", null, "DONE");
+        when(taskRepository.findAllById(List.of(2L, 99L, 1L))).thenReturn(List.of(sampleTask, other));
+
+        // When
+        TaskBatch result = taskService.getTasksByIds(List.of(2L, 99L, 1L, 2L));
+
+        // Then
+        assertThat(result.tasks()).extracting(Task::getId).containsExactly(2L, 1L);
+        assertThat(result.missing()).containsExactly(99L);
+        verify(taskRepository, times(1)).findAllById(any());
+    }
+
     @Test
     @DisplayName("Should create task and publish event")
     void shouldCreateTaskAndPublishEvent() {